@@ -1,5 +1,10 @@
 package com.github.btclib;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -7,54 +12,150 @@ import java.util.Objects;
  * This encoding is commonly used to encode: 1) the hash of a public point on the secp256k1 curve to create a
  * Bitcoin P2PKH address, 2) the hash of a scriptPubKey to create a Bitcoin P2SH address, 3) secp256k1 private
  * key data, and 4) BIP32 extended public or private key data. This format is case sensitive.
+ * The static methods use the Bitcoin alphabet, see {@link Base58Codec} for other alphabets.
  */
 public final class Base58Check {
-  private static final String SYMBOLS = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+  /**
+   * Per-thread working storage so that decoding, and encoding into caller buffers, in steady state allocates nothing.
+   */
+  private static final class Scratch {
+    private final byte[] digits = new byte[5600]; // 4100 bytes with checksum encode to at most 5600 symbols
+    private final byte[] fixedShort = new byte[Base58Limbs.FIXED_SHORT_DIGITS];
+    private final byte[] fixedLong = new byte[Base58Limbs.FIXED_LONG_DIGITS];
+    private final int[] words = new int[((Base58Limbs.SPLIT_THRESHOLD * 3) / 16) + 1];
+    private final byte[] bytes = new byte[5600]; // 5600 leading '1' symbols decode to 5600 zero bytes
+    private int checksum; // of the data last converted into bytes
+    // the multi-buffer verification of decodeAll
+    private final Sha256dLanes lanes = new Sha256dLanes();
+    private final byte[] laneHashes = new byte[32 * Sha256dLanes.LANES];
+    private final byte[][] pendingData = new byte[Sha256dLanes.LANES][];
+    private final int[] pendingIndexes = new int[Sha256dLanes.LANES];
+    private final int[] pendingChecksums = new int[Sha256dLanes.LANES];
+  }
+
+  private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+  // the status values reported by inspect. the decoding core reports a failure as the negated status.
+  public static final int STATUS_VALID = 0;
+  public static final int STATUS_INVALID_SYMBOL = 1; // corresponds to DecodingException "invalid symbol found"
+  public static final int STATUS_INVALID_CHECKSUM = 2; // corresponds to DecodingException "invalid checksum", decoded data too short
+  public static final int STATUS_CHECKSUM_FAILURE = 3; // corresponds to DecodingException "checksum failure"
+  public static final int STATUS_TOO_LONG = 4; // corresponds to IllegalArgumentException "data too long"
 
   /**
-   * @param data An array of bytes representing an unsigned big-endian number in the base specified in base. Must not be null.
-   * @param base The base of the number in the data array. Must be 256 or 58.
-   * @return An array of bytes representing an unsigned big-endian number.
+   * @param bytes an array holding at least four bytes starting at offset
+   * @param offset the index of the first byte
+   * @return the four bytes at offset as a big-endian int
    */
-  private static byte[] convertBase(final byte[] data, final int base) {
-    assert data != null;
-    assert (base == 256) || (base == 58);
-    final int resultBase = (base == 256) ? 58 : 256;
-    int leadingZeros = 0; // find the first significant figure (the most-significant non-zero)
-    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+  static int checksum(final byte[] bytes, final int offset) {
+    return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+  }
+
+  /**
+   * The conversion of the decoding core. Maps the symbols through a lookup table into the scratch digits and converts
+   * them into the scratch words and bytes, without allocating unless the input has more than 640 significant symbols.
+   * @param codec the codec of the alphabet of data
+   * @param data the data to decode, at most 5600 characters in length
+   * @param scratch the working storage of the current thread
+   * @return the number of decoded bytes without the checksum, which are left at the start of scratch.bytes with the
+   * checksum in scratch.checksum, or a negated failure status
+   */
+  private static int convert(final Base58Codec codec, final CharSequence data, final Scratch scratch) {
+    final int length = data.length();
+    assert length <= scratch.digits.length;
+    final byte[] digits = scratch.digits;
+    final byte[] reverse = codec.reverse;
+    for (int i = 0; i < length; i++) {
+      final int element = data.charAt(i);
+      if ((element >= reverse.length) || (reverse[element] == Base58Codec.INVALID)) {
+        return -Base58Check.STATUS_INVALID_SYMBOL;
+      }
+      digits[i] = reverse[element];
+    }
+    int leadingZeros = 0;
+    while ((leadingZeros < length) && (digits[leadingZeros] == 0)) {
       leadingZeros++;
     }
-    // for all base256 and base58 inputs with length <= 8192 and using the largest values (the worst case),
-    // these sizing calculations were verified to be sufficient.
-    // integer overflow is prevented by the caller's length restriction on the array.
-    int resultSize = data.length - leadingZeros;
-    if (base == 256) {
-      // converting from base256 to base58 results in a size increase of about 36.6% = log(256) / log(58).
-      resultSize = ((resultSize * 1366) / 1000) + 1; // 36.6% increase and add 1 to round up
+    final int resultLength;
+    if ((length - leadingZeros) <= Base58Limbs.SPLIT_THRESHOLD) {
+      final int dataWithChecksumLength = Base58Limbs.fromBase58Fixed(digits, length, scratch.words);
+      if (dataWithChecksumLength < 4) { // the checksum size is always four bytes.
+        return -Base58Check.STATUS_INVALID_CHECKSUM;
+      }
+      resultLength = dataWithChecksumLength - 4;
+      final int significantWords = ((dataWithChecksumLength - leadingZeros) + 3) / 4; // words past these hold stale values
+      Base58Limbs.toBytes(scratch.words, 1, significantWords, scratch.bytes, 0, resultLength); // don't copy the checksum, it is the least significant word
+      scratch.checksum = scratch.words[0];
     } else {
-      // converting from base58 to base256 results in a size decrease of about 26.7% = log(58) / log(256).
-      resultSize = ((resultSize * 733) / 1000) + 1; // 26.7% decrease and add 1 to round up
+      final byte[] dataWithChecksum = Base58Limbs.fromBase58(Arrays.copyOf(digits, length)); // long inputs allocate
+      resultLength = dataWithChecksum.length - 4; // at least 640 significant symbols decode to far more than four bytes
+      System.arraycopy(dataWithChecksum, 0, scratch.bytes, 0, resultLength); // don't copy the checksum
+      scratch.checksum = Base58Check.checksum(dataWithChecksum, resultLength);
     }
-    byte[] result = new byte[resultSize];
-    int significantFigureCount = 0;
-    for (int i = leadingZeros; i < data.length; i++) {
-      int carry = data[i] & 0xff; // mask off sign extension during widening primitive conversion
-      int calculationIndex;
-      for (calculationIndex = 0; (carry > 0) || (calculationIndex < significantFigureCount); calculationIndex++) {
-        // this loop implements the logic: result = result * base + carry
-        carry += base * (result[result.length - 1 - calculationIndex] & 0xff);
-        result[result.length - 1 - calculationIndex] = (byte) (carry % resultBase);
-        carry /= resultBase;
-      }
-      significantFigureCount = calculationIndex;
+    return resultLength;
+  }
+
+  /**
+   * Decodes the given "Base58 Check" data into the bytes that it encodes, writing them into output starting at offset.
+   * Apart from inputs with more than 640 significant symbols, this allocates nothing in steady state.
+   * The content of output past offset is unspecified if an exception is thrown.
+   * @param data The data to decode. Must not be null. Must be less than or equal to 5600 characters in length.
+   * @param output The array to write the decoded bytes to. Must not be null.
+   * @param offset The index in output of the first decoded byte. Must be in [0, output.length].
+   * @return The number of decoded bytes written to output.
+   * @throws NullPointerException if data or output is null
+   * @throws IllegalArgumentException if data is too long, if offset is invalid, or if the decoded bytes do not fit in output
+   * @throws DecodingException if data is not valid "Base58 Check"
+   */
+  public static int decode(final CharSequence data, final byte[] output, final int offset) throws DecodingException {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check(data.length() <= 5600, "data too long");
+    Util.check((0 <= offset) && (offset <= output.length), "offset invalid");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int length = Base58Check.ensure(Base58Check.decode(Base58Codec.BITCOIN, data, scratch));
+    Util.check(length <= (output.length - offset), "output too small");
+    System.arraycopy(scratch.bytes, 0, output, offset, length);
+    return length;
+  }
+
+  /**
+   * Decodes the given "Base58 Check" data into the bytes that it encodes, writing them into output at its position.
+   * Apart from inputs with more than 640 significant symbols, this allocates nothing in steady state.
+   * @param data The data to decode. Must not be null. Must be less than or equal to 5600 characters in length.
+   * @param output The buffer to write the decoded bytes to. Must not be null. Its position is advanced by the number of bytes written.
+   * @return The number of decoded bytes written to output.
+   * @throws NullPointerException if data or output is null
+   * @throws IllegalArgumentException if data is too long, or if the decoded bytes do not fit in the remaining space of output
+   * @throws java.nio.ReadOnlyBufferException if output is read-only
+   * @throws DecodingException if data is not valid "Base58 Check"
+   */
+  public static int decode(final CharSequence data, final ByteBuffer output) throws DecodingException {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check(data.length() <= 5600, "data too long");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int length = Base58Check.ensure(Base58Check.decode(Base58Codec.BITCOIN, data, scratch));
+    Util.check(length <= output.remaining(), "output too small");
+    output.put(scratch.bytes, 0, length);
+    return length;
+  }
+
+  /**
+   * The decoding core. Converts data into the scratch bytes and verifies the checksum.
+   * @param codec the codec of the alphabet of data
+   * @param data the data to decode, at most 5600 characters in length
+   * @param scratch the working storage of the current thread
+   * @return the number of decoded bytes, which are left at the start of scratch.bytes, or a negated failure status
+   */
+  private static int decode(final Base58Codec codec, final CharSequence data, final Scratch scratch) {
+    final int resultLength = Base58Check.convert(codec, data, scratch);
+    if (resultLength < 0) {
+      return resultLength;
     }
-    // make the result have exactly the same number of leading insignificant zeros as the input data
-    if ((result.length - significantFigureCount) != leadingZeros) {
-      final byte[] adjustedResult = new byte[leadingZeros + significantFigureCount];
-      System.arraycopy(result, result.length - significantFigureCount, adjustedResult, leadingZeros, significantFigureCount);
-      result = adjustedResult;
+    if (Util.checksum(scratch.bytes, 0, resultLength) != scratch.checksum) { // compute the checksum and match to verify
+      return -Base58Check.STATUS_CHECKSUM_FAILURE;
     }
-    return result;
+    return resultLength;
   }
 
   /**
@@ -63,28 +164,106 @@ public final class Base58Check {
    * @return The bytes encoded by the input "Base58 Check" String.
    */
   public static byte[] decode(final String data) throws DecodingException {
+    return Base58Check.decode(Base58Codec.BITCOIN, data);
+  }
+
+  /**
+   * Decodes "Base58 Check" data written in the alphabet of the given codec, see {@link Base58Codec#decodeChecked(CharSequence)}.
+   */
+  static byte[] decode(final Base58Codec codec, final CharSequence data) throws DecodingException {
     Objects.requireNonNull(data, "data must not be null");
     Util.check(data.length() <= 5600, "data too long"); // corresponds to the 4096 encoding max worst case
-    final byte[] dataWithChecksum = Base58Check.decodeBase58(data);
-    if (dataWithChecksum.length < 4) { // the checksum size is always four bytes.
-      throw new DecodingException("invalid checksum");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int length = Base58Check.ensure(Base58Check.decode(codec, data, scratch));
+    return Arrays.copyOf(scratch.bytes, length);
+  }
+
+  /**
+   * Decodes many "Base58 Check" Strings in one call, sharing the working storage of the current thread across the
+   * batch. Failures are reported per element through statuses instead of exceptions. The checksums are verified with
+   * the JDK MessageDigest, or with the multi-buffer Sha256dLanes engine, 16 at a time, where the system property
+   * com.github.btclib.sha256 is "java". See Sha256d.ENGINE_PROPERTY for when to set it.
+   * @param data The data to decode. Must not be null. Must not contain null.
+   * @param statuses The array that receives the status of each element, one of the STATUS_ constants, at the index
+   * of the element. Must not be null. Must be at least data.size() in length.
+   * @return The decoded bytes of each element at the index of the element, or null where the status is not STATUS_VALID.
+   * @throws NullPointerException if data or statuses is null, or if data contains null
+   * @throws IllegalArgumentException if statuses is too small
+   */
+  public static byte[][] decodeAll(final List<? extends CharSequence> data, final int[] statuses) {
+    return Base58Check.decodeAll(data, statuses, Sha256d.ENABLED);
+  }
+
+  /**
+   * @param multiBuffer true to verify the checksums of the batch with {@link Sha256dLanes}, which only outperforms the
+   * JDK MessageDigest where that is not intrinsified. Sha256d.ENABLED for the public method.
+   * @see #decodeAll(List, int[])
+   */
+  static byte[][] decodeAll(final List<? extends CharSequence> data, final int[] statuses, final boolean multiBuffer) {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(statuses, "statuses must not be null");
+    final int size = data.size();
+    Util.check(statuses.length >= size, "statuses too small");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final byte[][] results = new byte[size][];
+    int pending = 0; // the number of decoded elements whose checksums are not verified yet
+    int index = 0;
+    for (final CharSequence element : data) { // iterate, as data may not support efficient random access
+      Objects.requireNonNull(element, "data must not contain null");
+      if (element.length() > 5600) {
+        statuses[index] = Base58Check.STATUS_TOO_LONG;
+      } else if (!multiBuffer) {
+        final int result = Base58Check.decode(Base58Codec.BITCOIN, element, scratch);
+        if (result >= 0) {
+          results[index] = Arrays.copyOf(scratch.bytes, result);
+          statuses[index] = Base58Check.STATUS_VALID;
+        } else {
+          statuses[index] = -result;
+        }
+      } else {
+        final int result = Base58Check.convert(Base58Codec.BITCOIN, element, scratch);
+        if (result >= 0) {
+          results[index] = Arrays.copyOf(scratch.bytes, result);
+          statuses[index] = Base58Check.STATUS_VALID;
+          scratch.pendingData[pending] = results[index];
+          scratch.pendingIndexes[pending] = index;
+          scratch.pendingChecksums[pending] = scratch.checksum;
+          if (++pending == Sha256dLanes.LANES) {
+            Base58Check.verify(scratch, pending, results, statuses);
+            pending = 0;
+          }
+        } else {
+          statuses[index] = -result;
+        }
+      }
+      index++;
     }
-    final byte[] result = new byte[dataWithChecksum.length - 4];
-    System.arraycopy(dataWithChecksum, 0, result, 0, result.length); // don't copy the checksum
-    final byte[] hash = Util.sha256d(result); // compute the checksum and match to verify
-    final boolean match = (hash[0] == dataWithChecksum[dataWithChecksum.length - 4]) //
-                          && (hash[1] == dataWithChecksum[dataWithChecksum.length - 3]) //
-                          && (hash[2] == dataWithChecksum[dataWithChecksum.length - 2]) //
-                          && (hash[3] == dataWithChecksum[dataWithChecksum.length - 1]);
-    if (!match) {
-      throw new DecodingException("checksum failure");
+    if (pending > 0) {
+      Base58Check.verify(scratch, pending, results, statuses);
     }
-    return result;
+    Arrays.fill(scratch.pendingData, null); // don't retain the results
+    return results;
   }
 
   static byte[] decodeBase58(final String data) throws DecodingException {
-    final byte[] base58 = Base58Check.fromBase58String(data);
-    return Base58Check.convertBase(base58, 58);
+    return Base58Codec.BITCOIN.decode(data);
+  }
+
+  /**
+   * Publishes a model of the worst-case cost of {@link #decode(String)} so that callers can budget for untrusted input.
+   * The unit is one 64-bit multiply step of the base conversion, the checksum and the mapping of symbols are not
+   * included. Up to 640 significant characters the conversion is the limb conversion and the value counts its inner
+   * loop iterations, quadratic in the length. Beyond that the value adds an estimate of the BigInteger multiplications
+   * that join the halves of the divide-and-conquer conversion, from the Karatsuba recurrence, so it is an estimate
+   * rather than a measured bound. To budget time, divide the measured time of decode at a long length by the value at
+   * that length on the target hardware, and multiply by that time per step.
+   * @param length the length of the String to decode. Must be in [0, 5600].
+   * @return the modeled number of 64-bit multiply steps to convert a String of at most the given length, non-decreasing in length
+   * @throws IllegalArgumentException if length is not in [0, 5600]
+   */
+  public static long decodeCost(final int length) {
+    Util.check((0 <= length) && (length <= 5600), "length invalid");
+    return Base58Limbs.cost(length, false);
   }
 
   /**
@@ -93,40 +272,266 @@ public final class Base58Check {
    * @return A "Base58 Check" encoded String.
    */
   public static String encode(final byte[] data) {
-    Objects.requireNonNull(data, "data must not be null");
-    Util.check(data.length <= 4096, "data too long");
     // the limit of 4096 bytes was selected because it provides more than sufficient space
     // to accommodate all known uses, and because it provides an upper bound for testing
     // the array size increase when converting from base256 to base58. it also avoids
     // possible integer overflow during calculations that use the data array size.
-    final byte[] hash = Util.sha256d(data);
-    final byte[] checksum = { hash[0], hash[1], hash[2], hash[3] };
-    return Base58Check.encodeBase58(Util.concat(data, checksum));
+    return Base58Check.encode(Base58Codec.BITCOIN, data);
   }
 
-  static String encodeBase58(final byte[] data) {
-    final byte[] base58 = Base58Check.convertBase(data, 256);
-    return Base58Check.toBase58String(base58);
+  /**
+   * Encodes data into "Base58 Check" written in the alphabet of the given codec, see {@link Base58Codec#encodeChecked(byte[])}.
+   */
+  static String encode(final Base58Codec codec, final byte[] data) {
+    Objects.requireNonNull(data, "data must not be null");
+    Util.check(data.length <= 4096, "data too long");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int start = Base58Check.encode(codec, data, scratch);
+    return new String(scratch.digits, start, scratch.digits.length - start, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Encodes the given byte array into "Base58 Check" US-ASCII bytes, writing them into output starting at offset.
+   * Apart from data that is not 21 or 78 bytes in length, this allocates nothing in steady state.
+   * @param data The data to encode. Must not be null. Must be less than or equal to 4096 bytes (4 KiB) in length.
+   * @param output The array to write the encoded bytes to. Must not be null.
+   * @param offset The index in output of the first encoded byte. Must be in [0, output.length].
+   * @return The number of encoded bytes written to output.
+   * @throws NullPointerException if data or output is null
+   * @throws IllegalArgumentException if data is too long, if offset is invalid, or if the encoded bytes do not fit in output
+   */
+  public static int encode(final byte[] data, final byte[] output, final int offset) {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check(data.length <= 4096, "data too long");
+    Util.check((0 <= offset) && (offset <= output.length), "offset invalid");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int start = Base58Check.encode(Base58Codec.BITCOIN, data, scratch);
+    final int length = scratch.digits.length - start;
+    Util.check(length <= (output.length - offset), "output too small");
+    System.arraycopy(scratch.digits, start, output, offset, length);
+    return length;
+  }
+
+  /**
+   * Encodes the given byte array into "Base58 Check" US-ASCII bytes, writing them into output at its position.
+   * Apart from data that is not 21 or 78 bytes in length, this allocates nothing in steady state.
+   * @param data The data to encode. Must not be null. Must be less than or equal to 4096 bytes (4 KiB) in length.
+   * @param output The buffer to write the encoded bytes to. Must not be null. Its position is advanced by the number of bytes written.
+   * @return The number of encoded bytes written to output.
+   * @throws NullPointerException if data or output is null
+   * @throws IllegalArgumentException if data is too long, or if the encoded bytes do not fit in the remaining space of output
+   * @throws java.nio.ReadOnlyBufferException if output is read-only
+   */
+  public static int encode(final byte[] data, final ByteBuffer output) {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check(data.length <= 4096, "data too long");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int start = Base58Check.encode(Base58Codec.BITCOIN, data, scratch);
+    final int length = scratch.digits.length - start;
+    Util.check(length <= output.remaining(), "output too small");
+    output.put(scratch.digits, start, length);
+    return length;
   }
 
-  private static byte[] fromBase58String(final String data) throws DecodingException {
-    final byte[] result = new byte[data.length()];
-    for (int i = 0; i < result.length; i++) {
-      final int val = Base58Check.SYMBOLS.indexOf(data.charAt(i)); // could use a lookup table if performance is a problem
-      if (val == -1) {
-        throw new DecodingException("invalid symbol found");
+  /**
+   * Encodes the given byte array into "Base58 Check" and appends the symbols to output.
+   * @param data The data to encode. Must not be null. Must be less than or equal to 4096 bytes (4 KiB) in length.
+   * @param output The Appendable to append the symbols to. Must not be null.
+   * @return output
+   * @throws NullPointerException if data or output is null
+   * @throws IllegalArgumentException if data is too long
+   * @throws IOException if appending to output fails
+   */
+  public static <T extends Appendable> T encode(final byte[] data, final T output) throws IOException {
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check(data.length <= 4096, "data too long");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    for (int i = Base58Check.encode(Base58Codec.BITCOIN, data, scratch); i < scratch.digits.length; i++) {
+      output.append((char) scratch.digits[i]);
+    }
+    return output;
+  }
+
+  /**
+   * The encoding core. Computes the checksum, converts the data, and writes the symbols
+   * right-aligned into the scratch digits. Only data that is not 21 or 78 bytes in length allocates.
+   * @param codec the codec of the alphabet to write the symbols in
+   * @param data the data to encode, at most 4096 bytes in length
+   * @param scratch the working storage of the current thread
+   * @return the index in scratch.digits of the first symbol, the last symbol being at the end of scratch.digits
+   */
+  private static int encode(final Base58Codec codec, final byte[] data, final Scratch scratch) {
+    final int checksum = Util.checksum(data, 0, data.length);
+    final byte[] digits;
+    final int from;
+    if ((data.length == 21) || (data.length == 78)) {
+      // the common payload sizes are converted in a zero filled buffer of known size, without resizing.
+      digits = (data.length == 21) ? scratch.fixedShort : scratch.fixedLong;
+      Arrays.fill(digits, (byte) 0);
+      from = Base58Limbs.toBase58Fixed(data, checksum, digits);
+    } else {
+      final byte[] dataWithChecksum = Arrays.copyOf(data, data.length + 4);
+      for (int i = 0; i < 4; i++) { // the checksum size is always four bytes.
+        dataWithChecksum[data.length + i] = (byte) (checksum >>> (24 - (i * 8)));
       }
-      result[i] = (byte) val;
+      digits = Base58Limbs.toBase58(dataWithChecksum);
+      from = 0;
+    }
+    final int start = scratch.digits.length - (digits.length - from);
+    for (int i = from, j = start; i < digits.length; i++, j++) {
+      scratch.digits[j] = codec.symbols[digits[i]];
+    }
+    return start;
+  }
+
+  static String encodeBase58(final byte[] data) {
+    return Base58Codec.BITCOIN.encode(data);
+  }
+
+  /**
+   * Publishes a model of the worst-case cost of {@link #encode(byte[])} so that callers can budget for untrusted input.
+   * The unit and the model are those of {@link #decodeCost(int)}, for the number of symbols that data of the given
+   * length with its checksum encodes to at most. Beyond 640 symbols the split by division is modeled as two
+   * multiplications.
+   * @param length the length of the data to encode. Must be in [0, 4096].
+   * @return the modeled number of 64-bit multiply steps to convert data of at most the given length, non-decreasing in length
+   * @throws IllegalArgumentException if length is not in [0, 4096]
+   */
+  public static long encodeCost(final int length) {
+    Util.check((0 <= length) && (length <= 4096), "length invalid");
+    return Base58Limbs.cost((((length + 4) * 1366) / 1000) + 1, true); // include the four checksum bytes
+  }
+
+  /**
+   * Computes the exact number of symbols that encoding the given data produces. This costs as much as encoding, so
+   * prefer {@link #maxEncodedLength(int)} to size a buffer, unless the exact length is needed before encoding.
+   * @param data The data to measure. Must not be null. Must be less than or equal to 4096 bytes (4 KiB) in length.
+   * @return the length of {@link #encode(byte[])} for data
+   * @throws NullPointerException if data is null
+   * @throws IllegalArgumentException if data is too long
+   */
+  public static int encodedLength(final byte[] data) {
+    Objects.requireNonNull(data, "data must not be null");
+    Util.check(data.length <= 4096, "data too long");
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    return scratch.digits.length - Base58Check.encode(Base58Codec.BITCOIN, data, scratch);
+  }
+
+  /**
+   * @param result the result of the decoding core
+   * @return the result, if it is not a failure status
+   * @throws DecodingException if the result is a failure status
+   */
+  private static int ensure(final int result) throws DecodingException {
+    Util.ensure(result != -Base58Check.STATUS_INVALID_SYMBOL, "invalid symbol found");
+    Util.ensure(result != -Base58Check.STATUS_INVALID_CHECKSUM, "invalid checksum");
+    Util.ensure(result != -Base58Check.STATUS_CHECKSUM_FAILURE, "checksum failure");
+    return result;
+  }
+
+  /**
+   * Verifies the given "Base58 Check" data without materializing the decoded bytes and without throwing for invalid
+   * input, for callers that only route or reject. Apart from inputs with more than 640 significant symbols, this
+   * allocates nothing in steady state.
+   * @param data The data to inspect. Must not be null.
+   * @return the status, the first decoded byte (commonly a version byte) and the number of decoded bytes packed into
+   * a long, see {@link #statusOf(long)}, {@link #versionOf(long)} and {@link #lengthOf(long)}
+   * @throws NullPointerException if data is null
+   */
+  public static long inspect(final CharSequence data) {
+    Objects.requireNonNull(data, "data must not be null");
+    if (data.length() > 5600) {
+      return Base58Check.STATUS_TOO_LONG;
+    }
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int result = Base58Check.decode(Base58Codec.BITCOIN, data, scratch);
+    if (result < 0) {
+      return -result;
+    }
+    final int version = (result > 0) ? (scratch.bytes[0] & 0xff) : 0;
+    return Base58Check.STATUS_VALID | (version << 8) | ((long) result << 16);
+  }
+
+  /**
+   * @param data The data to verify. Must not be null.
+   * @return true if data is valid "Base58 Check" that {@link #decode(String)} would decode without an exception
+   * @throws NullPointerException if data is null
+   */
+  public static boolean isValid(final CharSequence data) {
+    return Base58Check.statusOf(Base58Check.inspect(data)) == Base58Check.STATUS_VALID;
+  }
+
+  /**
+   * @param inspection a value returned by {@link #inspect(CharSequence)}
+   * @return the number of decoded bytes, or 0 if the status is not STATUS_VALID
+   */
+  public static int lengthOf(final long inspection) {
+    return (int) (inspection >>> 16);
+  }
+
+  /**
+   * @param length the length of the data to encode. Must be in [0, 4096].
+   * @return an upper bound on the number of symbols that encoding data of the given length produces, which is reached
+   * by data of all 0xff bytes
+   * @throws IllegalArgumentException if length is not in [0, 4096]
+   */
+  public static int maxEncodedLength(final int length) {
+    Util.check((0 <= length) && (length <= 4096), "length invalid");
+    // a leading zero byte encodes to one symbol. any other byte, including the four checksum bytes, encodes to at most
+    // 8 / log2(58) symbols. log2(58) = 5.85798099... is rounded down so that the bound is never too small.
+    return (int) ((((length + 4) * 8000000000L) + (5857980995L - 1)) / 5857980995L);
+  }
+
+  /**
+   * @param inspection a value returned by {@link #inspect(CharSequence)}
+   * @return one of the STATUS_ constants
+   */
+  public static int statusOf(final long inspection) {
+    return (int) (inspection & 0xff);
+  }
+
+  /**
+   * Decodes without throwing for invalid input, for callers in this package that report failures as statuses.
+   * @param data the data to decode
+   * @param output an array of at least 5600 bytes that receives the decoded bytes at its start
+   * @return the number of decoded bytes, or a negated STATUS_ constant
+   */
+  static int tryDecode(final CharSequence data, final byte[] output) {
+    assert output.length >= 5600;
+    if (data.length() > 5600) {
+      return -Base58Check.STATUS_TOO_LONG;
+    }
+    final Scratch scratch = Base58Check.SCRATCH.get();
+    final int result = Base58Check.decode(Base58Codec.BITCOIN, data, scratch);
+    if (result > 0) {
+      System.arraycopy(scratch.bytes, 0, output, 0, result);
     }
     return result;
   }
 
-  private static String toBase58String(final byte[] base58) {
-    final StringBuilder result = new StringBuilder(base58.length);
-    for (final byte b : base58) {
-      result.append(Base58Check.SYMBOLS.charAt(b));
+  /**
+   * Verifies the checksums of the pending elements of a batch with one multi-buffer hash, and fails the elements that don't match.
+   */
+  private static void verify(final Scratch scratch, final int pending, final byte[][] results, final int[] statuses) {
+    scratch.lanes.hash(scratch.pendingData, pending, scratch.laneHashes);
+    for (int i = 0; i < pending; i++) {
+      if (Base58Check.checksum(scratch.laneHashes, i * 32) != scratch.pendingChecksums[i]) {
+        results[scratch.pendingIndexes[i]] = null;
+        statuses[scratch.pendingIndexes[i]] = Base58Check.STATUS_CHECKSUM_FAILURE;
+      }
     }
-    return result.toString();
+  }
+
+  /**
+   * @param inspection a value returned by {@link #inspect(CharSequence)}
+   * @return the first decoded byte as a value in [0, 255], commonly a version byte, or 0 if there are no decoded bytes
+   * or if the status is not STATUS_VALID
+   */
+  public static int versionOf(final long inspection) {
+    return (int) ((inspection >>> 8) & 0xff);
   }
 
   private Base58Check() {
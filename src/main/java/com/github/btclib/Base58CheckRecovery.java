@@ -0,0 +1,228 @@
+package com.github.btclib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recovers mistyped "Base58 Check" data by searching the strings within a given edit distance for the ones with a
+ * valid checksum. An edit is the substitution, insertion or deletion of one symbol, or the transposition of two
+ * adjacent symbols. The number of candidates grows as (58 * length) ^ maxDistance.
+ *
+ * The search is a depth-first walk over the candidates, one symbol per level. Each level holds the value of the
+ * symbols so far, computed from the level above with one multiply-add, so candidates with a common prefix share the
+ * conversion of that prefix. Only the double SHA-256 of the checksum is computed once per complete candidate. The walk
+ * is split by the position of the first edit into tasks for a fork-join pool.
+ */
+public final class Base58CheckRecovery {
+  // the search is exhaustive. on one core of a recent x86-64 machine, distance 1 takes tens of milliseconds; distance 2
+  // takes about 5 seconds for a 34 symbol address and about 2.5 minutes for a 111 symbol extended key. distance 3 would
+  // take thousands of times longer again, so it is not offered.
+  public static final int MAX_DISTANCE = 2;
+  // a 78 byte payload, the longest in common use, encodes to at most 115 symbols
+  public static final int MAX_LENGTH = Base58Limbs.FIXED_LONG_DIGITS;
+
+  /**
+   * The state of one sequential walk.
+   */
+  private static final class Search extends RecursiveTask<List<String>> {
+    private static final long serialVersionUID = 1L;
+    private final Base58Codec codec;
+    private final byte[] input; // the values of the input symbols, or Base58Codec.INVALID
+    private final int firstEdit; // the position of the first edit, or -1 to walk the unedited input only
+    private final int maxDistance;
+    private transient char[] symbols; // the candidate, one symbol per level
+    private transient int[][] levels; // the value of the first d symbols as little-endian 32-bit words at level d
+    private transient int[] levelWords; // the number of words of each level
+    private transient int[] levelZeros; // the number of leading zero symbols at each level
+    private transient byte[] bytes;
+    private transient List<String> results;
+
+    private Search(final Base58Codec codec, final byte[] input, final int firstEdit, final int maxDistance) {
+      this.codec = codec;
+      this.input = input;
+      this.firstEdit = firstEdit;
+      this.maxDistance = maxDistance;
+    }
+
+    @Override
+    protected List<String> compute() {
+      final int maxSymbols = this.input.length + this.maxDistance;
+      final int words = ((maxSymbols * 6) / 32) + 1; // 58 < 2^6
+      this.symbols = new char[maxSymbols];
+      this.levels = new int[maxSymbols + 1][words];
+      this.levelWords = new int[maxSymbols + 1];
+      this.levelZeros = new int[maxSymbols + 1];
+      this.bytes = new byte[maxSymbols + (words * 4)];
+      this.results = new ArrayList<>();
+      int level = 0;
+      if (this.firstEdit < 0) {
+        for (final byte value : this.input) {
+          if (value == Base58Codec.INVALID) {
+            return this.results;
+          }
+          this.push(level++, value);
+        }
+        this.check(level);
+        return this.results;
+      }
+      for (int i = 0; i < this.firstEdit; i++) { // the unedited prefix
+        if (this.input[i] == Base58Codec.INVALID) {
+          return this.results;
+        }
+        this.push(level++, this.input[i]);
+      }
+      this.edit(this.firstEdit, level, this.maxDistance - 1);
+      return this.results;
+    }
+
+    /**
+     * Checks the candidate of the given length and records it if its checksum is valid.
+     */
+    private void check(final int level) {
+      final int zeros = this.levelZeros[level];
+      final int[] words = this.levels[level];
+      Arrays.fill(this.bytes, 0, zeros, (byte) 0);
+      int length = zeros;
+      for (int i = this.levelWords[level] - 1; i >= 0; i--) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+          final byte element = (byte) (words[i] >>> shift);
+          if ((length > zeros) || (element != 0)) {
+            this.bytes[length++] = element;
+          }
+        }
+      }
+      if (length < 4) { // the checksum size is always four bytes.
+        return;
+      }
+      if (Util.checksum(this.bytes, 0, length - 4) != Base58Check.checksum(this.bytes, length - 4)) {
+        return;
+      }
+      this.results.add(new String(this.symbols, 0, level));
+    }
+
+    /**
+     * Applies one edit at position, then continues the walk with the edits that remain.
+     */
+    private void edit(final int position, final int level, final int remaining) {
+      if (level >= this.symbols.length) {
+        return;
+      }
+      for (int value = 0; value < 58; value++) { // insertion before position
+        this.push(level, value);
+        this.walk(position, level + 1, remaining);
+      }
+      if (position == this.input.length) {
+        return;
+      }
+      final int current = this.input[position];
+      for (int value = 0; value < 58; value++) { // substitution at position
+        if (value != current) {
+          this.push(level, value);
+          this.walk(position + 1, level + 1, remaining);
+        }
+      }
+      this.walk(position + 1, level, remaining); // deletion at position
+      if (((position + 1) < this.input.length) && (current != this.input[position + 1]) && (current != Base58Codec.INVALID) && (this.input[position + 1] != Base58Codec.INVALID)) {
+        this.push(level, this.input[position + 1]); // transposition of position and position + 1
+        this.push(level + 1, current);
+        this.walk(position + 2, level + 2, remaining);
+      }
+    }
+
+    /**
+     * Sets the symbol at level and computes the value of the next level from it with one multiply-add.
+     */
+    private void push(final int level, final int value) {
+      this.symbols[level] = (char) this.codec.symbols[value];
+      final int[] from = this.levels[level];
+      final int[] to = this.levels[level + 1];
+      int words = this.levelWords[level];
+      long carry = value;
+      for (int i = 0; i < words; i++) {
+        carry += (from[i] & 0xffffffffL) * 58;
+        to[i] = (int) carry;
+        carry >>>= 32;
+      }
+      if (carry != 0) {
+        to[words++] = (int) carry;
+      }
+      this.levelWords[level + 1] = words;
+      this.levelZeros[level + 1] = this.levelZeros[level] + ((words == 0) ? 1 : 0); // a zero value means all symbols so far are zero
+    }
+
+    /**
+     * Walks the candidates that keep the input symbol at position or that make one of the remaining edits there.
+     */
+    private void walk(final int position, final int level, final int remaining) {
+      if (remaining > 0) {
+        this.edit(position, level, remaining - 1);
+      }
+      if (position == this.input.length) {
+        this.check(level);
+        return;
+      }
+      if ((this.input[position] != Base58Codec.INVALID) && (level < this.symbols.length)) {
+        this.push(level, this.input[position]);
+        this.walk(position + 1, level + 1, remaining);
+      }
+    }
+  }
+
+  /**
+   * Recovers mistyped "Base58 Check" data in the Bitcoin alphabet, using the common fork-join pool.
+   * @see #recover(Base58Codec, CharSequence, int, ForkJoinPool)
+   */
+  public static List<String> recover(final CharSequence data, final int maxDistance) {
+    return Base58CheckRecovery.recover(Base58Codec.BITCOIN, data, maxDistance, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param codec The codec of the alphabet of data. Must not be null.
+   * @param data The mistyped data. Must not be null. Must be less than or equal to 115 characters in length. It may
+   * contain characters that are not in the alphabet, which only appear in candidates that edit them away.
+   * @param maxDistance The largest edit distance from data to search. Must be in [0, 2].
+   * @param pool The pool that runs the search. Must not be null.
+   * @return the distinct valid "Base58 Check" strings within maxDistance edits of data, in ascending order
+   * @throws NullPointerException if codec, data or pool is null
+   * @throws IllegalArgumentException if data is too long, or if maxDistance is not in [0, 2]
+   */
+  public static List<String> recover(final Base58Codec codec, final CharSequence data, final int maxDistance, final ForkJoinPool pool) {
+    Objects.requireNonNull(codec, "codec must not be null");
+    Objects.requireNonNull(data, "data must not be null");
+    Objects.requireNonNull(pool, "pool must not be null");
+    Util.check(data.length() <= Base58CheckRecovery.MAX_LENGTH, "data too long");
+    Util.check((0 <= maxDistance) && (maxDistance <= Base58CheckRecovery.MAX_DISTANCE), "maxDistance invalid");
+    final byte[] input = new byte[data.length()];
+    for (int i = 0; i < input.length; i++) {
+      final int element = data.charAt(i);
+      input[i] = (element < codec.reverse.length) ? codec.reverse[element] : Base58Codec.INVALID;
+    }
+    final List<Search> searches = new ArrayList<>();
+    searches.add(new Search(codec, input, -1, maxDistance));
+    for (int position = 0; (maxDistance > 0) && (position <= input.length); position++) {
+      searches.add(new Search(codec, input, position, maxDistance));
+    }
+    final var results = new TreeSet<String>(); // different edits can produce the same candidate
+    pool.invoke(new RecursiveTask<Void>() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected Void compute() {
+        for (final Search search : RecursiveTask.invokeAll(searches)) {
+          results.addAll(search.join());
+        }
+        return null;
+      }
+    });
+    return new ArrayList<>(results);
+  }
+
+  private Base58CheckRecovery() {
+    throw new AssertionError("suppress default constructor for noninstantiability");
+  }
+}
@@ -0,0 +1,206 @@
+package com.github.btclib;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Decodes newline delimited "Base58 Check" data from a Reader, a channel or a memory-mapped file. Each line is
+ * decoded in place from a fixed size buffer and never becomes a String, so memory use is constant regardless of the
+ * size of the input. Lines are delimited by '\n', a trailing '\r' is removed, empty lines are skipped, and the last
+ * line does not need a delimiter. Bytes of channels and files are read as US-ASCII.
+ */
+public final class Base58CheckStream {
+  /**
+   * Receives the result of each decoded line.
+   */
+  @FunctionalInterface
+  public interface Handler {
+    /**
+     * @param line the 1-based number of the line in the input
+     * @param status one of the Base58Check.STATUS_ constants
+     * @param payload a read-only view of the decoded bytes between its position and limit, empty unless status is
+     * Base58Check.STATUS_VALID. The view and its content are reused for the next line, copy what must be kept.
+     */
+    void accept(long line, int status, ByteBuffer payload);
+  }
+
+  // a line of 5600 symbols followed by '\r' still fits. anything longer is reported as too long without being buffered.
+  private static final int MAX_LINE_LENGTH = 5600 + 1;
+  private static final int BUFFER_SIZE = 1 << 16;
+  // the size of each mapped region of a file. a region is referenced only while it is read, so at most one is
+  // reachable at a time. the JDK unmaps a region when its buffer is garbage collected, so until then the address space
+  // of regions already read may stay reserved, but never their pages on the heap.
+  private static final int MAP_SIZE = 1 << 26;
+
+  private final Handler handler;
+  private final byte[] line = new byte[Base58CheckStream.MAX_LINE_LENGTH];
+  private final byte[] chunk = new byte[Base58CheckStream.BUFFER_SIZE]; // bulk reads of buffers without an array and of readers
+  private final CharSequence view = new CharSequence() {
+    @Override
+    public char charAt(final int index) {
+      return (char) (Base58CheckStream.this.line[index] & 0xff);
+    }
+
+    @Override
+    public int length() {
+      return Base58CheckStream.this.viewLength;
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      return this.toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(Base58CheckStream.this.line, 0, Base58CheckStream.this.viewLength, StandardCharsets.ISO_8859_1);
+    }
+  };
+  private final byte[] output = new byte[5600];
+  private final ByteBuffer payload = ByteBuffer.wrap(this.output).asReadOnlyBuffer();
+  private int lineLength;
+  private boolean lineTooLong;
+  private long lineNumber;
+  private long lines;
+  private int viewLength;
+
+  /**
+   * Decodes each line that can be read from the given channel, until the end of the stream. The channel is not closed.
+   * @param channel The channel to read. Must not be null.
+   * @param handler The handler to call with the result of each line. Must not be null.
+   * @return The number of lines passed to handler.
+   * @throws NullPointerException if channel or handler is null
+   * @throws IOException if reading from channel fails
+   */
+  public static long decode(final ReadableByteChannel channel, final Handler handler) throws IOException {
+    Objects.requireNonNull(channel, "channel must not be null");
+    Objects.requireNonNull(handler, "handler must not be null");
+    final var stream = new Base58CheckStream(handler);
+    final ByteBuffer buffer = ByteBuffer.allocate(Base58CheckStream.BUFFER_SIZE);
+    while (channel.read(buffer) >= 0) {
+      stream.accept(buffer.flip());
+      buffer.clear();
+    }
+    stream.finish();
+    return stream.lines;
+  }
+
+  /**
+   * Decodes each line of the given file, mapping it into memory one region of 64 MiB at a time.
+   * @param file The file to read. Must not be null.
+   * @param handler The handler to call with the result of each line. Must not be null.
+   * @return The number of lines passed to handler.
+   * @throws NullPointerException if file or handler is null
+   * @throws IOException if opening or mapping file fails
+   */
+  public static long decode(final Path file, final Handler handler) throws IOException {
+    Objects.requireNonNull(file, "file must not be null");
+    Objects.requireNonNull(handler, "handler must not be null");
+    final var stream = new Base58CheckStream(handler);
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      for (long position = 0; position < size; position += Base58CheckStream.MAP_SIZE) {
+        stream.accept(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Base58CheckStream.MAP_SIZE, size - position)));
+      }
+    }
+    stream.finish();
+    return stream.lines;
+  }
+
+  /**
+   * Decodes each line that can be read from the given Reader, until the end of the stream. The Reader is not closed.
+   * @param reader The Reader to read. Must not be null.
+   * @param handler The handler to call with the result of each line. Must not be null.
+   * @return The number of lines passed to handler.
+   * @throws NullPointerException if reader or handler is null
+   * @throws IOException if reading from reader fails
+   */
+  public static long decode(final Reader reader, final Handler handler) throws IOException {
+    Objects.requireNonNull(reader, "reader must not be null");
+    Objects.requireNonNull(handler, "handler must not be null");
+    final var stream = new Base58CheckStream(handler);
+    final char[] chars = new char[Base58CheckStream.BUFFER_SIZE];
+    int count;
+    while ((count = reader.read(chars, 0, chars.length)) >= 0) {
+      for (int i = 0; i < count; i++) {
+        final char element = chars[i];
+        stream.chunk[i] = (element < 0x80) ? (byte) element : (byte) 0xff; // anything outside US-ASCII is an invalid symbol
+      }
+      stream.accept(stream.chunk, 0, count);
+    }
+    stream.finish();
+    return stream.lines;
+  }
+
+  private Base58CheckStream(final Handler handler) {
+    this.handler = handler;
+  }
+
+  /**
+   * Appends each run of bytes up to a delimiter to the line with one copy, and ends the line at the delimiter.
+   */
+  private void accept(final byte[] bytes, final int offset, final int length) {
+    final int end = offset + length;
+    int start = offset;
+    while (start < end) {
+      int delimiter = start;
+      while ((delimiter < end) && (bytes[delimiter] != '\n')) {
+        delimiter++;
+      }
+      final int count = Math.min(delimiter - start, this.line.length - this.lineLength);
+      System.arraycopy(bytes, start, this.line, this.lineLength, count);
+      this.lineLength += count;
+      this.lineTooLong |= count < (delimiter - start);
+      if (delimiter < end) {
+        this.endLine();
+      }
+      start = delimiter + 1;
+    }
+  }
+
+  /**
+   * Reads the bytes between the position and the limit of buffer, from its array if it has one, otherwise in bulk
+   * through the chunk. The position of buffer is left unchanged.
+   */
+  private void accept(final ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      this.accept(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      return;
+    }
+    for (int i = buffer.position(), limit = buffer.limit(); i < limit; i += this.chunk.length) {
+      final int count = Math.min(this.chunk.length, limit - i);
+      buffer.get(i, this.chunk, 0, count);
+      this.accept(this.chunk, 0, count);
+    }
+  }
+
+  private void endLine() {
+    this.lineNumber++;
+    int length = this.lineLength;
+    if ((length > 0) && (this.line[length - 1] == '\r')) {
+      length--;
+    }
+    if ((length > 0) || this.lineTooLong) {
+      this.viewLength = length;
+      final int result = (this.lineTooLong || (length > 5600)) ? -Base58Check.STATUS_TOO_LONG : Base58Check.tryDecode(this.view, this.output);
+      this.payload.limit(Math.max(result, 0)).position(0);
+      this.handler.accept(this.lineNumber, (result >= 0) ? Base58Check.STATUS_VALID : -result, this.payload);
+      this.lines++;
+    }
+    this.lineLength = 0;
+    this.lineTooLong = false;
+  }
+
+  private void finish() {
+    if ((this.lineLength > 0) || this.lineTooLong) {
+      this.endLine();
+    }
+  }
+}
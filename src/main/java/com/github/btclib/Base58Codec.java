@@ -0,0 +1,232 @@
+package com.github.btclib;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base58 encoding and decoding, with or without the "Base58 Check" checksum, for one alphabet. The symbol tables of
+ * the alphabet are computed once, when the codec is created. Instances are immutable and safe for use by multiple
+ * threads. The static methods of {@link Base58Check} use the {@link #BITCOIN} codec.
+ */
+public final class Base58Codec {
+  /**
+   * An inclusive range of payloads, as unsigned big-endian byte arrays of the payload length.
+   */
+  public static final class Range {
+    private final byte[] low;
+    private final byte[] high;
+
+    private Range(final byte[] low, final byte[] high) {
+      this.low = low;
+      this.high = high;
+    }
+
+    /**
+     * @return the last payload in the range
+     */
+    public byte[] getHigh() {
+      return this.high.clone();
+    }
+
+    /**
+     * @return the first payload in the range
+     */
+    public byte[] getLow() {
+      return this.low.clone();
+    }
+
+    /**
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return "[" + Util.toHexString(this.low) + ", " + Util.toHexString(this.high) + "]";
+    }
+  }
+
+  public static final Base58Codec BITCOIN = new Base58Codec("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz");
+  public static final Base58Codec RIPPLE = new Base58Codec("rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz");
+  public static final Base58Codec FLICKR = new Base58Codec("123456789abcdefghijkmnopqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ");
+  static final int INVALID = 58; // the reverse table entry of a character that is not in the alphabet
+
+  /**
+   * @param alphabet the 58 symbols of the alphabet, in order of value. Must not be null. Must consist of 58 distinct US-ASCII characters.
+   * @return a codec for the given alphabet
+   * @throws NullPointerException if alphabet is null
+   * @throws IllegalArgumentException if alphabet does not consist of 58 distinct US-ASCII characters
+   */
+  public static Base58Codec of(final String alphabet) {
+    Objects.requireNonNull(alphabet, "alphabet must not be null");
+    Util.check(alphabet.length() == 58, "alphabet length invalid");
+    Util.check(alphabet.chars().allMatch(c -> c < 0x80), "alphabet must be US-ASCII");
+    Util.check(alphabet.chars().distinct().count() == 58, "alphabet must not contain duplicates");
+    return new Base58Codec(alphabet);
+  }
+
+  private static byte[] toBytes(final BigInteger value, final int length) {
+    final byte[] magnitude = value.toByteArray(); // may have a leading sign byte, or fewer than length bytes
+    final byte[] result = new byte[length];
+    final int count = Math.min(magnitude.length, length);
+    System.arraycopy(magnitude, magnitude.length - count, result, length - count, count);
+    return result;
+  }
+
+  private final String alphabet;
+  final byte[] symbols = new byte[58]; // value to US-ASCII symbol
+  final byte[] reverse = new byte[128]; // US-ASCII symbol to value, or INVALID
+
+  private Base58Codec(final String alphabet) {
+    assert alphabet.length() == 58;
+    this.alphabet = alphabet;
+    Arrays.fill(this.reverse, (byte) Base58Codec.INVALID);
+    for (int i = 0; i < this.symbols.length; i++) {
+      this.symbols[i] = (byte) alphabet.charAt(i);
+      this.reverse[alphabet.charAt(i)] = (byte) i;
+    }
+  }
+
+  /**
+   * Decodes the given Base58 data, without a checksum, into the bytes that it encodes.
+   * @param data The data to decode. Must not be null. Must be less than or equal to 5600 characters in length.
+   * @return The bytes encoded by data, one zero byte for each leading zero symbol followed by the value of the remaining symbols.
+   * @throws NullPointerException if data is null
+   * @throws IllegalArgumentException if data is too long
+   * @throws DecodingException if data contains a character that is not in the alphabet
+   */
+  public byte[] decode(final CharSequence data) throws DecodingException {
+    Objects.requireNonNull(data, "data must not be null");
+    Util.check(data.length() <= 5600, "data too long");
+    final byte[] digits = new byte[data.length()];
+    for (int i = 0; i < digits.length; i++) {
+      final int element = data.charAt(i);
+      Util.ensure((element < this.reverse.length) && (this.reverse[element] != Base58Codec.INVALID), "invalid symbol found");
+      digits[i] = this.reverse[element];
+    }
+    return Base58Limbs.fromBase58(digits);
+  }
+
+  /**
+   * Decodes the given "Base58 Check" data, written in this alphabet, into the bytes that it encodes.
+   * @param data The data to decode. Must not be null. Must be less than or equal to 5600 characters in length.
+   * @return The bytes encoded by data, without the checksum.
+   * @throws NullPointerException if data is null
+   * @throws IllegalArgumentException if data is too long
+   * @throws DecodingException if data is not valid "Base58 Check"
+   */
+  public byte[] decodeChecked(final CharSequence data) throws DecodingException {
+    return Base58Check.decode(this, data);
+  }
+
+  /**
+   * Encodes the given bytes into Base58, without a checksum.
+   * @param data The data to encode. Must not be null. Must be less than or equal to 4100 bytes in length, the most that
+   * encodes to at most 5600 symbols.
+   * @return The Base58 encoded data, one zero symbol for each leading zero byte followed by the value of the remaining bytes.
+   * @throws NullPointerException if data is null
+   * @throws IllegalArgumentException if data is too long
+   */
+  public String encode(final byte[] data) {
+    Objects.requireNonNull(data, "data must not be null");
+    Util.check(data.length <= 4100, "data too long");
+    final byte[] digits = Base58Limbs.toBase58(data);
+    for (int i = 0; i < digits.length; i++) {
+      digits[i] = this.symbols[digits[i]];
+    }
+    return new String(digits, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Encodes the given bytes into "Base58 Check", written in this alphabet.
+   * @param data The data to encode. Must not be null. Must be less than or equal to 4096 bytes (4 KiB) in length.
+   * @return The "Base58 Check" encoded data.
+   * @throws NullPointerException if data is null
+   * @throws IllegalArgumentException if data is too long
+   */
+  public String encodeChecked(final byte[] data) {
+    return Base58Check.encode(this, data);
+  }
+
+  /**
+   * @return the 58 symbols of the alphabet, in order of value
+   */
+  public String getAlphabet() {
+    return this.alphabet;
+  }
+
+  /**
+   * Computes the payloads whose "Base58 Check" encoding in this alphabet starts with the given prefix, as numeric
+   * ranges, so that prefix queries over sorted binary payloads become range scans without encoding. Every matching
+   * payload is in a range. The symbols of an encoding depend on the checksum as well as the payload, so the payloads at
+   * the ends of a range, and where two candidate ranges were merged into one, may or may not match depending on their
+   * checksums. Filter those by encoding, all others match.
+   * @param prefix The prefix of the encoded data. Must not be null. Must be less than or equal to 5600 characters in length.
+   * @param payloadLength The length of the payloads, without the checksum. Must be in [0, 4096].
+   * @return the disjoint ranges in ascending order, empty if no payload of the given length can match
+   * @throws NullPointerException if prefix is null
+   * @throws IllegalArgumentException if prefix is too long, or if payloadLength is not in [0, 4096]
+   * @throws DecodingException if prefix contains a character that is not in the alphabet
+   */
+  public List<Range> payloadRanges(final CharSequence prefix, final int payloadLength) throws DecodingException {
+    Objects.requireNonNull(prefix, "prefix must not be null");
+    Util.check(prefix.length() <= 5600, "prefix too long");
+    Util.check((0 <= payloadLength) && (payloadLength <= 4096), "payloadLength invalid");
+    int zeros = 0; // each leading zero symbol is a leading zero byte of the payload with checksum
+    var value = BigInteger.ZERO;
+    for (int i = 0; i < prefix.length(); i++) {
+      final int element = prefix.charAt(i);
+      Util.ensure((element < this.reverse.length) && (this.reverse[element] != Base58Codec.INVALID), "invalid symbol found");
+      if ((this.reverse[element] == 0) && (zeros == i)) {
+        zeros++;
+      }
+      value = value.multiply(BigInteger.valueOf(58)).add(BigInteger.valueOf(this.reverse[element]));
+    }
+    final int length = payloadLength + 4; // the checksum size is always four bytes.
+    final List<BigInteger[]> ranges = new ArrayList<>(); // of the payload with checksum
+    if (zeros == prefix.length()) { // at least zeros leading zero bytes
+      if (zeros <= length) {
+        ranges.add(new BigInteger[] { BigInteger.ZERO, BigInteger.ONE.shiftLeft(8 * (length - zeros)).subtract(BigInteger.ONE), });
+      }
+    } else if (zeros < length) { // exactly zeros leading zero bytes, followed by a number with the remaining symbols as prefix
+      final BigInteger min = BigInteger.ONE.shiftLeft(8 * (length - zeros - 1));
+      final BigInteger max = BigInteger.ONE.shiftLeft(8 * (length - zeros)).subtract(BigInteger.ONE);
+      // one candidate range for each number of symbols that the number may have
+      for (var scale = BigInteger.ONE; value.multiply(scale).compareTo(max) <= 0; scale = scale.multiply(BigInteger.valueOf(58))) {
+        final BigInteger low = value.multiply(scale).max(min);
+        final BigInteger high = value.add(BigInteger.ONE).multiply(scale).subtract(BigInteger.ONE).min(max);
+        if (low.compareTo(high) <= 0) {
+          ranges.add(new BigInteger[] { low, high, });
+        }
+      }
+    }
+    final List<Range> result = new ArrayList<>();
+    BigInteger[] current = null;
+    for (final BigInteger[] range : ranges) { // drop the checksum, then merge the ranges that touch
+      final BigInteger low = range[0].shiftRight(32);
+      final BigInteger high = range[1].shiftRight(32);
+      if ((current != null) && (low.compareTo(current[1].add(BigInteger.ONE)) <= 0)) {
+        current[1] = current[1].max(high);
+      } else {
+        if (current != null) {
+          result.add(new Range(Base58Codec.toBytes(current[0], payloadLength), Base58Codec.toBytes(current[1], payloadLength)));
+        }
+        current = new BigInteger[] { low, high, };
+      }
+    }
+    if (current != null) {
+      result.add(new Range(Base58Codec.toBytes(current[0], payloadLength), Base58Codec.toBytes(current[1], payloadLength)));
+    }
+    return result;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return this.alphabet;
+  }
+}
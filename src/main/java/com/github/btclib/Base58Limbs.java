@@ -0,0 +1,467 @@
+package com.github.btclib;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Word-sized limb arithmetic for converting unsigned big-endian numbers between base256 and base58.
+ * Instead of multiplying by the input base one digit at a time, several input digits are folded into
+ * each step (4 bytes or 5 base58 digits) and the intermediate result is kept in machine-word limbs
+ * (base 58^5 when producing base58, base 2^32 when producing base256). This reduces the number of inner
+ * loop iterations by roughly a factor of 20 compared with a byte-at-a-time schoolbook conversion.
+ * <p>
+ * The limb conversion is still quadratic in the input length. Inputs longer than {@link #SPLIT_THRESHOLD} digits are
+ * instead converted by divide-and-conquer: the number is split at precomputed powers of 58 and the halves are recombined
+ * with {@link BigInteger}, whose multiplication (Karatsuba, Toom-Cook) and division (Burnikel-Ziegler) are subquadratic
+ * for operands of this size. The leaves of the recursion use the limb conversion.
+ */
+final class Base58Limbs {
+  static final int LIMB_DIGITS = 5; // base58 digits per limb
+  static final int LIMB_BASE = 58 * 58 * 58 * 58 * 58; // 656356768 = 58^5, the largest power of 58 below 2^30
+  private static final int[] POW58 = { 1, 58, 58 * 58, 58 * 58 * 58, 58 * 58 * 58 * 58, Base58Limbs.LIMB_BASE, };
+  // the base58 digit count above which the divide-and-conquer conversion is faster than the limb conversion.
+  // the leaves of the recursion are at most this many digits long. the value was found by measurement.
+  static final int SPLIT_THRESHOLD = 640;
+  // digit capacities of the fixed-width conversions of the common Base58Check sizes. a 21 byte payload (a version byte
+  // and a hash160) plus a checksum is 25 bytes, which needs at most 35 digits (7 limbs). a 78 byte payload (a BIP32
+  // extended key) plus a checksum is 82 bytes, which needs at most 112 digits (23 limbs).
+  static final int FIXED_SHORT_DIGITS = 7 * Base58Limbs.LIMB_DIGITS;
+  static final int FIXED_LONG_DIGITS = 23 * Base58Limbs.LIMB_DIGITS;
+  // BigInteger.KARATSUBA_THRESHOLD, in 32-bit words. used only to model the cost of BigInteger multiplication.
+  private static final int KARATSUBA_THRESHOLD = 80;
+
+  /**
+   * Lazily computed powers 58^(SPLIT_THRESHOLD * 2^k). Held in a nested class so that the powers
+   * are only computed if a long input is ever converted.
+   */
+  private static final class Powers {
+    // enough powers to split the longest supported input (4096 bytes, or 5600 digits) down to leaf size
+    private static final BigInteger[] POWERS = new BigInteger[Integer.SIZE - Integer.numberOfLeadingZeros(5600 / Base58Limbs.SPLIT_THRESHOLD)];
+    static {
+      Powers.POWERS[0] = BigInteger.valueOf(58).pow(Base58Limbs.SPLIT_THRESHOLD);
+      for (int k = 1; k < Powers.POWERS.length; k++) {
+        Powers.POWERS[k] = Powers.POWERS[k - 1].multiply(Powers.POWERS[k - 1]);
+      }
+    }
+  }
+
+  /**
+   * Lazily computed worst-case costs, indexed by digit count. Each entry is the maximum of the modeled cost over all
+   * digit counts up to the index, so that the published bound is monotonic even where the model of BigInteger is not.
+   */
+  private static final class Costs {
+    // the longest supported input is 5600 digits, and 4096 + 4 checksum bytes are sized for at most 5601 digits
+    private static final long[] DECODE = Costs.table(false);
+    private static final long[] ENCODE = Costs.table(true);
+
+    private static long[] table(final boolean encode) {
+      final long[] result = new long[5601 + 1];
+      long max = 0;
+      for (int digits = 0; digits < result.length; digits++) {
+        max = Math.max(max, Base58Limbs.modelCost(digits, encode));
+        result[digits] = max;
+      }
+      return result;
+    }
+  }
+
+  /**
+   * @param digits the number of significant base58 digits in the input or the output. Must be in [0, 5601].
+   * @param encode true for a base256 to base58 conversion, false for a base58 to base256 conversion
+   * @return the modeled number of 64-bit multiply steps to convert a number of at most the given size: the inner loop
+   * iterations of the limb conversion up to SPLIT_THRESHOLD digits, plus an estimate of the BigInteger products beyond
+   */
+  static long cost(final int digits, final boolean encode) {
+    assert (0 <= digits) && (digits <= 5601);
+    return encode ? Costs.ENCODE[digits] : Costs.DECODE[digits];
+  }
+
+  /**
+   * Implements the logic: limbs = limbs * (2 ** shift) + value, for a number of at most bits bits.
+   * @param limbs little-endian base 58^5 limbs
+   * @param value the next chunk of the number, less than 2 ** shift
+   * @param shift the size of the chunk in bits, at most 32
+   * @param bits the size in bits of the number including the chunk
+   */
+  private static void fold(final int[] limbs, final long value, final int shift, final int bits) {
+    // a number below 2^bits fits in (bits / 29) + 1 limbs since log2(58^5) = 29.29 > 29
+    final int reach = Math.min(limbs.length, (bits / 29) + 1);
+    long carry = value;
+    for (int j = 0; j < reach; j++) {
+      final long x = ((long) limbs[j] << shift) + carry;
+      carry = x / Base58Limbs.LIMB_BASE;
+      limbs[j] = (int) (x - (carry * Base58Limbs.LIMB_BASE));
+    }
+    assert carry == 0;
+  }
+
+  /**
+   * @param data an array of bytes representing an unsigned big-endian base58 number, each element in [0, 57]. Must not be null.
+   * @return an array of bytes representing the same unsigned big-endian number in base256, with exactly as many leading
+   * zero bytes as the input has leading zero digits
+   */
+  static byte[] fromBase58(final byte[] data) {
+    assert data != null;
+    int leadingZeros = 0;
+    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    final int length = data.length - leadingZeros;
+    if (length > Base58Limbs.SPLIT_THRESHOLD) {
+      final byte[] magnitude = Base58Limbs.fromBase58Split(data, leadingZeros, data.length).toByteArray();
+      final int skip = (magnitude[0] == 0) ? 1 : 0; // drop the sign byte. the value is non-zero since the first digit is significant.
+      final byte[] result = new byte[(leadingZeros + magnitude.length) - skip];
+      System.arraycopy(magnitude, skip, result, leadingZeros, magnitude.length - skip);
+      return result;
+    }
+    return Base58Limbs.fromBase58Limbs(data, leadingZeros, data.length, leadingZeros);
+  }
+
+  /**
+   * Fixed-width conversion into caller supplied words. Each step only visits the words that the digits consumed so
+   * far can reach, so no significant word count is tracked and no carry ever propagates further.
+   * @param data an array of base58 digits, each element in [0, 57]
+   * @param length the number of digits in data to convert
+   * @param words receives the value as little-endian 32-bit words. Must hold at least
+   * (((length - leading zero digits) * 3) / 16) + 1 words. Words beyond that are not written.
+   * @return the length in bytes of the value, including one zero byte per leading zero digit
+   */
+  static int fromBase58Fixed(final byte[] data, final int length, final int[] words) {
+    assert (0 <= length) && (length <= data.length);
+    int leadingZeros = 0;
+    while ((leadingZeros < length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    // the value of n digits is below 58^n < 2^(5.86 * n), so it fits in ((n * 3) / 16) + 1 words since 3 / 16 > 5.86 / 32
+    final int capacity = (((length - leadingZeros) * 3) / 16) + 1;
+    assert words.length >= capacity;
+    Arrays.fill(words, 0, capacity, 0);
+    final int head = (length - leadingZeros) % Base58Limbs.LIMB_DIGITS;
+    for (int i = leadingZeros, chunk = (head == 0) ? Base58Limbs.LIMB_DIGITS : head; i < length; i += chunk, chunk = Base58Limbs.LIMB_DIGITS) {
+      long carry = 0;
+      for (int k = 0; k < chunk; k++) {
+        carry = (carry * 58) + data[i + k];
+      }
+      final long multiplier = Base58Limbs.POW58[chunk];
+      final int reach = ((((i + chunk) - leadingZeros) * 3) / 16) + 1;
+      for (int j = 0; j < reach; j++) {
+        final long x = ((words[j] & 0xffffffffL) * multiplier) + carry;
+        words[j] = (int) x;
+        carry = x >>> 32;
+      }
+      assert carry == 0;
+    }
+    int significant = capacity;
+    while ((significant > 0) && (words[significant - 1] == 0)) {
+      significant--;
+    }
+    if (significant == 0) {
+      return leadingZeros;
+    }
+    return leadingZeros + ((significant - 1) * 4) + ((Integer.SIZE - Integer.numberOfLeadingZeros(words[significant - 1]) + 7) / 8);
+  }
+
+  /**
+   * @param data an array of base58 digits, each element in [0, 57]
+   * @param from the index of the first digit, inclusive
+   * @param to the index of the last digit, exclusive
+   * @param leadingZeros the number of zero bytes to prefix to the significant bytes of the result
+   * @return the significant bytes of the value of the digits, big-endian, prefixed by leadingZeros zero bytes
+   */
+  private static byte[] fromBase58Limbs(final byte[] data, final int from, final int to, final int leadingZeros) {
+    final int length = to - from;
+    // log(58) / log(2 ** 32) = 0.18306 base 2^32 limbs per base58 digit, 3 / 16 = 0.1875 rounds up. add 2 for the partial limbs.
+    final int[] limbs = new int[((length * 3) / 16) + 2]; // little-endian, limbs[0] is the least significant
+    int used = 0;
+    final int head = length % Base58Limbs.LIMB_DIGITS;
+    for (int i = from, chunk = (head == 0) ? Base58Limbs.LIMB_DIGITS : head; i < to; i += chunk, chunk = Base58Limbs.LIMB_DIGITS) {
+      long carry = 0;
+      for (int k = 0; k < chunk; k++) {
+        carry = (carry * 58) + data[i + k];
+      }
+      final long multiplier = Base58Limbs.POW58[chunk];
+      // this loop implements the logic: limbs = limbs * (58 ** chunk) + carry
+      // the product of a 32-bit limb and a multiplier below 2^30, plus a carry below 2^30, always fits in 62 bits
+      for (int j = 0; j < used; j++) {
+        final long x = ((limbs[j] & 0xffffffffL) * multiplier) + carry;
+        limbs[j] = (int) x;
+        carry = x >>> 32;
+      }
+      if (carry != 0) {
+        limbs[used++] = (int) carry;
+      }
+    }
+    if (used == 0) {
+      return new byte[leadingZeros];
+    }
+    final int top = limbs[used - 1];
+    final int topBytes = (Integer.SIZE - Integer.numberOfLeadingZeros(top) + 7) / 8;
+    final byte[] result = new byte[leadingZeros + ((used - 1) * 4) + topBytes];
+    int index = result.length;
+    for (int j = 0; j < (used - 1); j++) {
+      final int limb = limbs[j];
+      result[--index] = (byte) limb;
+      result[--index] = (byte) (limb >>> 8);
+      result[--index] = (byte) (limb >>> 16);
+      result[--index] = (byte) (limb >>> 24);
+    }
+    for (int k = 0; k < topBytes; k++) {
+      result[--index] = (byte) (top >>> (8 * k));
+    }
+    return result;
+  }
+
+  /**
+   * @param data an array of base58 digits, each element in [0, 57]
+   * @param from the index of the first digit, inclusive
+   * @param to the index of the last digit, exclusive
+   * @return the value of the digits
+   */
+  private static BigInteger fromBase58Split(final byte[] data, final int from, final int to) {
+    final int length = to - from;
+    if (length <= Base58Limbs.SPLIT_THRESHOLD) {
+      return new BigInteger(1, Base58Limbs.fromBase58Limbs(data, from, to, 0));
+    }
+    final int k = Base58Limbs.splitIndex(length);
+    final int split = to - (Base58Limbs.SPLIT_THRESHOLD << k);
+    final BigInteger high = Base58Limbs.fromBase58Split(data, from, split);
+    final BigInteger low = Base58Limbs.fromBase58Split(data, split, to);
+    return high.multiply(Powers.POWERS[k]).add(low);
+  }
+
+  /**
+   * @param digits the number of significant base58 digits in the input or the output
+   * @param encode true to model a base256 to base58 conversion, false to model a base58 to base256 conversion
+   * @return a model of the number of 64-bit multiply steps used to convert a number of the given size
+   */
+  private static long modelCost(final int digits, final boolean encode) {
+    if (digits <= Base58Limbs.SPLIT_THRESHOLD) {
+      // one multiply step per (input chunk, output limb) pair
+      final long bytes = ((digits * 733L) / 1000) + 1;
+      return encode ? (((bytes + 3) / 4) * (((bytes * 8) / 29) + 2)) : (((digits + 4) / 5) * Base58Limbs.words(digits));
+    }
+    final int low = Base58Limbs.SPLIT_THRESHOLD << Base58Limbs.splitIndex(digits);
+    final long combine = Base58Limbs.multiplyCost(Base58Limbs.words(digits - low), Base58Limbs.words(low));
+    // joining the halves costs one multiplication, splitting them by division is modeled as two (Burnikel-Ziegler)
+    return Base58Limbs.modelCost(digits - low, encode) + Base58Limbs.modelCost(low, encode) + (encode ? (2 * combine) : combine);
+  }
+
+  /**
+   * @param words the length of the shorter operand in 32-bit words
+   * @param otherWords the length of the longer operand in 32-bit words
+   * @return a model of the number of 64-bit multiply steps used by BigInteger to multiply the operands
+   */
+  private static long multiplyCost(final int words, final int otherWords) {
+    assert words <= otherWords;
+    if (words <= Base58Limbs.KARATSUBA_THRESHOLD) {
+      return (long) words * otherWords;
+    }
+    return (Base58Limbs.squareCost(words) * otherWords) / words; // one balanced product per slice of the longer operand
+  }
+
+  /**
+   * @param length a number of base58 digits greater than SPLIT_THRESHOLD
+   * @return the index k of the largest power 58^(SPLIT_THRESHOLD * 2^k) with fewer than length digits
+   */
+  private static int splitIndex(final int length) {
+    assert length > Base58Limbs.SPLIT_THRESHOLD;
+    int k = 0;
+    while ((Base58Limbs.SPLIT_THRESHOLD << (k + 1)) < length) {
+      k++;
+    }
+    return k;
+  }
+
+  /**
+   * @param words the length of both operands in 32-bit words
+   * @return a model of the number of 64-bit multiply steps used by a Karatsuba multiplication of the operands
+   */
+  private static long squareCost(final int words) {
+    if (words <= Base58Limbs.KARATSUBA_THRESHOLD) {
+      return (long) words * words;
+    }
+    // three half size products plus the linear additions and carries. the linear factor
+    // keeps the model continuous at the threshold, where the two algorithms take about the same time.
+    return (3 * Base58Limbs.squareCost((words + 1) / 2)) + (19L * words);
+  }
+
+  /**
+   * @param data an array of bytes representing an unsigned big-endian base256 number. Must not be null.
+   * @return an array of bytes representing the same unsigned big-endian number in base58, each element in [0, 57], with
+   * exactly as many leading zero digits as the input has leading zero bytes
+   */
+  static byte[] toBase58(final byte[] data) {
+    assert data != null;
+    int leadingZeros = 0;
+    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    final int length = data.length - leadingZeros;
+    // log(256) / log(58) = 1.36571 base58 digits per byte
+    final int maxDigits = ((length * 1366) / 1000) + 1;
+    if (maxDigits > Base58Limbs.SPLIT_THRESHOLD) {
+      final byte[] digits = new byte[maxDigits];
+      Base58Limbs.toBase58Split(new BigInteger(1, data), maxDigits, digits, maxDigits);
+      int significant = 0;
+      while (digits[significant] == 0) { // the value is non-zero since the first byte is significant
+        significant++;
+      }
+      final byte[] result = new byte[(leadingZeros + maxDigits) - significant];
+      System.arraycopy(digits, significant, result, leadingZeros, maxDigits - significant);
+      return result;
+    }
+    return Base58Limbs.toBase58Limbs(data, leadingZeros, data.length, leadingZeros);
+  }
+
+  /**
+   * Fixed-width conversion of a 21 or 78 byte payload followed by its four byte checksum. Each step only visits the
+   * limbs that the bytes consumed so far can reach, and the digits are written straight into a buffer of known size.
+   * @param data the payload, 21 or 78 bytes long
+   * @param checksum the four checksum bytes that follow the payload, big-endian
+   * @param digits receives the base58 digits right-aligned. Must be zero filled and FIXED_SHORT_DIGITS long for a 21 byte
+   * payload or FIXED_LONG_DIGITS long for a 78 byte payload.
+   * @return the index in digits of the first digit, counting one zero digit for each leading zero byte
+   */
+  static int toBase58Fixed(final byte[] data, final int checksum, final byte[] digits) {
+    assert ((data.length == 21) && (digits.length == Base58Limbs.FIXED_SHORT_DIGITS)) || ((data.length == 78) && (digits.length == Base58Limbs.FIXED_LONG_DIGITS));
+    final int[] limbs = new int[digits.length / Base58Limbs.LIMB_DIGITS];
+    final int head = data.length % 4;
+    long word = 0;
+    for (int k = 0; k < head; k++) {
+      word = (word << 8) | (data[k] & 0xff);
+    }
+    Base58Limbs.fold(limbs, word, head * 8, head * 8);
+    for (int i = head; i < data.length; i += 4) {
+      word = ((data[i] & 0xffL) << 24) | ((data[i + 1] & 0xff) << 16) | ((data[i + 2] & 0xff) << 8) | (data[i + 3] & 0xff);
+      Base58Limbs.fold(limbs, word, 32, (i + 4) * 8);
+    }
+    Base58Limbs.fold(limbs, checksum & 0xffffffffL, 32, (data.length + 4) * 8);
+    int index = digits.length;
+    for (int limb : limbs) {
+      for (int k = 0; k < Base58Limbs.LIMB_DIGITS; k++) {
+        final int quotient = limb / 58;
+        digits[--index] = (byte) (limb - (quotient * 58));
+        limb = quotient;
+      }
+    }
+    int first = 0;
+    while ((first < digits.length) && (digits[first] == 0)) {
+      first++;
+    }
+    int leadingZeros = 0;
+    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    if (leadingZeros == data.length) { // the leading zeros continue into the checksum
+      leadingZeros += Integer.numberOfLeadingZeros(checksum) / 8;
+    }
+    return first - leadingZeros;
+  }
+
+  /**
+   * @param data an array of bytes representing an unsigned big-endian base256 number
+   * @param from the index of the first byte, inclusive
+   * @param to the index of the last byte, exclusive
+   * @param leadingZeros the number of zero digits to prefix to the significant digits of the result
+   * @return the significant base58 digits of the value of the bytes, big-endian, prefixed by leadingZeros zero digits
+   */
+  private static byte[] toBase58Limbs(final byte[] data, final int from, final int to, final int leadingZeros) {
+    final int length = to - from;
+    // log(256) / log(58 ** 5) = 0.27315 base 58^5 limbs per byte, 8 / 29 = 0.27586 rounds up. add 2 for the partial limbs.
+    final int[] limbs = new int[((length * 8) / 29) + 2]; // little-endian, limbs[0] is the least significant
+    int used = 0;
+    final int head = length % 4;
+    for (int i = from, chunk = (head == 0) ? 4 : head; i < to; i += chunk, chunk = 4) {
+      long carry = 0;
+      for (int k = 0; k < chunk; k++) {
+        carry = (carry << 8) | (data[i + k] & 0xff);
+      }
+      final int shift = chunk * 8;
+      // this loop implements the logic: limbs = limbs * (256 ** chunk) + carry
+      // a limb below 2^30 shifted by at most 32 bits, plus a carry below 2^32, always fits in 62 bits.
+      // the division is by a constant, which the JIT compiler strength-reduces to a reciprocal multiplication.
+      for (int j = 0; j < used; j++) {
+        final long x = ((long) limbs[j] << shift) + carry;
+        carry = x / Base58Limbs.LIMB_BASE;
+        limbs[j] = (int) (x - (carry * Base58Limbs.LIMB_BASE));
+      }
+      while (carry != 0) {
+        final long quotient = carry / Base58Limbs.LIMB_BASE;
+        limbs[used++] = (int) (carry - (quotient * Base58Limbs.LIMB_BASE));
+        carry = quotient;
+      }
+    }
+    if (used == 0) {
+      return new byte[leadingZeros];
+    }
+    int top = limbs[used - 1];
+    int topDigits = 1;
+    while ((topDigits < Base58Limbs.LIMB_DIGITS) && (top >= Base58Limbs.POW58[topDigits])) {
+      topDigits++;
+    }
+    final byte[] result = new byte[leadingZeros + ((used - 1) * Base58Limbs.LIMB_DIGITS) + topDigits];
+    int index = result.length;
+    for (int j = 0; j < (used - 1); j++) {
+      int limb = limbs[j];
+      for (int k = 0; k < Base58Limbs.LIMB_DIGITS; k++) {
+        final int quotient = limb / 58;
+        result[--index] = (byte) (limb - (quotient * 58));
+        limb = quotient;
+      }
+    }
+    for (int k = 0; k < topDigits; k++) {
+      final int quotient = top / 58;
+      result[--index] = (byte) (top - (quotient * 58));
+      top = quotient;
+    }
+    return result;
+  }
+
+  /**
+   * @param value a non-negative number
+   * @param width the exact number of digits to write, the value must be less than 58^width
+   * @param result the array to write the big-endian base58 digits to, zero padded on the left
+   * @param end the index one past the last digit to write
+   */
+  private static void toBase58Split(final BigInteger value, final int width, final byte[] result, final int end) {
+    if (width <= Base58Limbs.SPLIT_THRESHOLD) {
+      final byte[] magnitude = value.toByteArray();
+      final byte[] leaf = Base58Limbs.toBase58Limbs(magnitude, 0, magnitude.length, 0); // only the significant digits
+      assert leaf.length <= width;
+      System.arraycopy(leaf, 0, result, end - leaf.length, leaf.length);
+      return;
+    }
+    final int k = Base58Limbs.splitIndex(width);
+    final int low = Base58Limbs.SPLIT_THRESHOLD << k;
+    final BigInteger[] quotientAndRemainder = value.divideAndRemainder(Powers.POWERS[k]);
+    Base58Limbs.toBase58Split(quotientAndRemainder[0], width - low, result, end - low);
+    Base58Limbs.toBase58Split(quotientAndRemainder[1], low, result, end);
+  }
+
+  /**
+   * @param words a value as little-endian 32-bit words
+   * @param from the index of the word holding the least significant four bytes to write
+   * @param to the index one past the most significant word of the value, words from this index on are treated as zero
+   * @param result receives the bytes of words[from..to) big-endian, truncated or zero-extended to length
+   * @param offset the index in result of the first byte to write
+   * @param length the number of bytes to write
+   */
+  static void toBytes(final int[] words, final int from, final int to, final byte[] result, final int offset, final int length) {
+    for (int k = 0; k < length; k++) {
+      final int index = from + (k / 4);
+      result[(offset + length) - 1 - k] = (index < to) ? (byte) (words[index] >>> (8 * (k % 4))) : 0;
+    }
+  }
+
+  /**
+   * @param digits a number of base58 digits
+   * @return the number of 32-bit words needed to hold a number of the given number of base58 digits
+   */
+  private static int words(final int digits) {
+    return ((digits * 3) / 16) + 2;
+  }
+
+  private Base58Limbs() {
+    throw new AssertionError("suppress default constructor for noninstantiability");
+  }
+}
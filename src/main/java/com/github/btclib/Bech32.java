@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * https://github.com/bitcoin/bips/blob/master/bip-0173.mediawiki
@@ -13,6 +14,66 @@ import java.util.Optional;
  * https://medium.com/@meshcollider/some-of-the-math-behind-bech32-addresses-cf03c7496285
  */
 public final class Bech32 {
+  /**
+   * A reusable, mutable target for {@link Bech32#decode(CharSequence, Decoded)}. The human readable part is not
+   * copied, it is the first {@link #getHumanReadablePartLength()} characters of the decoded input, in lower case if
+   * they are letters. The data array grows to the longest data decoded into it and is then reused, so that decoding
+   * valid input allocates nothing. An instance is not thread safe.
+   */
+  public static final class Decoded {
+    private byte[] data = Util.EMPTY_BYTE_ARRAY;
+    private int dataLength;
+    private int humanReadablePartLength;
+    private Variant variant;
+
+    /**
+     * @param index the index of the element, must be in the range [0, getDataLength())
+     * @return the element of the data at index, with 5 bits of data
+     * @throws IndexOutOfBoundsException if index is not in the range [0, getDataLength())
+     */
+    public byte getData(final int index) {
+      Objects.checkIndex(index, this.dataLength);
+      return this.data[index];
+    }
+
+    /**
+     * Copies the data into a caller buffer.
+     * @param output the array that receives the data elements. Must not be null.
+     * @param offset the index in output of the first element
+     * @return the number of elements copied
+     * @throws NullPointerException if output is null
+     * @throws IllegalArgumentException if offset is not within output, or if output is too small
+     */
+    public int getData(final byte[] output, final int offset) {
+      Objects.requireNonNull(output, "output must not be null");
+      Util.check((0 <= offset) && (offset <= output.length), "offset invalid");
+      Util.check(this.dataLength <= (output.length - offset), "output too small");
+      System.arraycopy(this.data, 0, output, offset, this.dataLength);
+      return this.dataLength;
+    }
+
+    /**
+     * @return the number of data elements
+     */
+    public int getDataLength() {
+      return this.dataLength;
+    }
+
+    /**
+     * @return the number of characters of the human readable part, at the start of the decoded input
+     */
+    public int getHumanReadablePartLength() {
+      return this.humanReadablePartLength;
+    }
+
+    /**
+     * @return the variant, null if nothing has been decoded into this target
+     */
+    public Variant getVariant() {
+      return this.variant;
+    }
+  }
+
   public enum Variant {
     BECH32(1), BECH32M(0x2bc830a3);
 
@@ -48,43 +109,62 @@ public final class Bech32 {
   public static final int SEPARATOR = '1';
   private static final byte[] SEPARATOR_ARRAY = { Bech32.SEPARATOR };
   private static final byte[] CHECKSUM = new byte[Bech32.CHECKSUM_LENGTH];
-  private static final byte[] CHARSET = { //
+  static final byte[] CHARSET = { //
       'q', 'p', 'z', 'r', 'y', '9', 'x', '8', //
       'g', 'f', '2', 't', 'v', 'd', 'w', '0', //
       's', '3', 'j', 'n', '5', '4', 'k', 'h', //
       'c', 'e', '6', 'm', 'u', 'a', '7', 'l', //
   };
-  private static final byte[] CHARSET_REVERSE = new byte[128];
+  static final byte[] CHARSET_REVERSE = new byte[128];
   static {
     Arrays.fill(Bech32.CHARSET_REVERSE, (byte) Bech32.CHARSET.length);
     for (int i = 0; i < Bech32.CHARSET.length; i++) {
       Bech32.CHARSET_REVERSE[Bech32.CHARSET[i]] = (byte) i;
     }
   }
+  // the polymod step is linear, so the generator terms that the top bits of the state shift out can be looked up
+  // rather than tested bit by bit. GENERATOR is indexed by the top 5 bits and covers one symbol, GENERATOR_PAIRS is
+  // indexed by the top 10 bits and covers two symbols, including the terms that the first symbol shifts into the second.
+  private static final int[] GENERATOR = new int[32];
+  private static final int[] GENERATOR_PAIRS = new int[1024];
+  static {
+    for (int i = 0; i < Bech32.GENERATOR.length; i++) {
+      Bech32.GENERATOR[i] = Bech32.step(i << 25, 0);
+    }
+    for (int i = 0; i < Bech32.GENERATOR_PAIRS.length; i++) {
+      Bech32.GENERATOR_PAIRS[i] = Bech32.step(Bech32.step(i << 20, 0), 0);
+    }
+  }
+  // the polymod state after the expanded form of each human readable part, from which the checksum computation resumes.
+  // seeded with the common parts and filled on first use. decode takes the part from its input, so the registry stops
+  // growing at MAX_HRP_STATES entries and the state of any other part is computed each time.
+  private static final int MAX_HRP_STATES = 256;
+  private static final ConcurrentHashMap<String, Integer> HRP_STATES = new ConcurrentHashMap<>();
+  // the common parts and their states again, for decoders that compare them with their input in place of a lookup
+  private static final String[] SEEDED_HRPS = { "bc", "tb", "bcrt", "lnbc", "lntb", "lnbcrt", };
+  private static final int[] SEEDED_HRP_STATES = new int[Bech32.SEEDED_HRPS.length];
+  static {
+    for (int i = 0; i < Bech32.SEEDED_HRPS.length; i++) {
+      Bech32.SEEDED_HRP_STATES[i] = Bech32.polymod(Bech32.SEEDED_HRPS[i], Bech32.SEEDED_HRPS[i].length());
+      Bech32.HRP_STATES.put(Bech32.SEEDED_HRPS[i], Bech32.SEEDED_HRP_STATES[i]);
+    }
+  }
 
   /**
    * @param hrp
    * @param data an array with each element containing 5 data bits per element
-   * @return an array with each element containing 5 data bits per element
+   * @return the six 5-bit checksum elements packed into a 30-bit integer, the first in the highest bits
    */
-  private static byte[] checksum(final byte[] hrp, final byte[] data, final Variant variant) {
-    final int polymod = Bech32.polymod(Bech32.expand(hrp), data, Bech32.CHECKSUM) ^ variant.getConstant();
-    return new byte[] { //
-        (byte) ((polymod >>> 25) & 0x1f), //
-        (byte) ((polymod >>> 20) & 0x1f), //
-        (byte) ((polymod >>> 15) & 0x1f), //
-        (byte) ((polymod >>> 10) & 0x1f), //
-        (byte) ((polymod >>> 5) & 0x1f), //
-        (byte) ((polymod >>> 0) & 0x1f), //
-    };
+  private static int checksum(final String hrp, final byte[] data, final Variant variant) {
+    return Bech32.polymod(Bech32.hrpState(hrp), data, Bech32.CHECKSUM) ^ variant.getConstant();
   }
 
-  private static int convert(final int fromBits, final int toBits, final byte[] input, final byte[] result) {
+  private static int convert(final int fromBits, final int toBits, final byte[] input, final byte[] result, final int resultOffset) {
     assert ((fromBits == 8) && (toBits == 5)) || ((fromBits == 5) && (toBits == 8));
     assert input != null;
     assert result != null;
     final int bitsMask = (1 << toBits) - 1;
-    int resultIndex = 0;
+    int resultIndex = resultOffset;
     int bits = 0;
     int bitsAvailable = 0;
     // process the whole groups in this loop
@@ -118,7 +198,7 @@ public final class Bech32 {
     final int wholeGroups = inputBitCount / toBits;
     final int remainingBits = inputBitCount % toBits;
     final byte[] result = new byte[wholeGroups];
-    final int paddedRemainingBits = Bech32.convert(fromBits, toBits, input, result); // process the whole groups
+    final int paddedRemainingBits = Bech32.convert(fromBits, toBits, input, result, 0); // process the whole groups
     // process any remaining bits
     if (remainingBits > 0) {
       // successfully discard bits only if they are actually valid padding bits
@@ -137,14 +217,25 @@ public final class Bech32 {
    */
   public static byte[] convert8to5(final byte[] input) {
     Objects.requireNonNull(input, "input must not be null");
+    return Bech32.convert8to5(input, 0);
+  }
+
+  /**
+   * Converts input into 5 bits per element, writing the result after the given number of leading elements so that a
+   * prefix, such as the witness version, can be written into the same array instead of concatenated.
+   * @param input an array of length [0, Bech32.EIGHT_TO_FIVE_MAX_LENGTH] with each element containing 8 bits of data per element
+   * @param prefixLength the number of leading elements left zero for the caller to fill
+   * @return an array of prefixLength elements followed by the elements of input with 5 bits of data per element
+   */
+  static byte[] convert8to5(final byte[] input, final int prefixLength) {
     Util.check(input.length <= Bech32.EIGHT_TO_FIVE_MAX_LENGTH, "input too long");
     final int fromBits = 8;
     final int toBits = 5;
     final int inputBitCount = input.length * fromBits;
     final int wholeGroups = inputBitCount / toBits;
     final int remainingBits = inputBitCount % toBits;
-    final byte[] result = new byte[wholeGroups + ((remainingBits != 0) ? 1 : 0)];
-    final int paddedRemainingBits = Bech32.convert(fromBits, toBits, input, result); // process the whole groups
+    final byte[] result = new byte[prefixLength + wholeGroups + ((remainingBits != 0) ? 1 : 0)];
+    final int paddedRemainingBits = Bech32.convert(fromBits, toBits, input, result, prefixLength); // process the whole groups
     // process any remaining bits
     if (remainingBits > 0) {
       // when we go from 8 to 5, we pad with zero valued bits, if necessary. this mechanism is a way to invert
@@ -164,35 +255,17 @@ public final class Bech32 {
    */
   public static Bech32 decode(final String input) throws DecodingException {
     Objects.requireNonNull(input, "input must not be null");
-    Util.ensure((Bech32.MIN_BECH32_LENGTH <= input.length()) && (input.length() <= Bech32.MAX_BECH32_LENGTH), "input length invalid");
-    int seperatorIndex = -1;
-    boolean hasLower = false;
-    boolean hasUpper = false;
-    for (int i = 0; i < input.length(); i++) {
-      final int element = input.charAt(i); // do widening primitive conversion once
-      Util.ensure((33 <= element) && (element <= 126), "input element value invalid");
-      hasLower |= ('a' <= element) && (element <= 'z');
-      hasUpper |= ('A' <= element) && (element <= 'Z');
-      Util.ensure((!hasLower || !hasUpper), "input is mixed case");
-      if (Bech32.SEPARATOR == element) {
-        seperatorIndex = i; // the last one found is the separator
-      }
-    }
-    Util.ensure((Bech32.MIN_HRP_LENGTH <= seperatorIndex) && (seperatorIndex <= Bech32.MAX_HRP_LENGTH), "separator location invalid");
-    Util.ensure(seperatorIndex <= (input.length() - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH), "separator location invalid");
+    final int seperatorIndex = Bech32.separatorIndex(input);
     // convert to lower case so that the checksum is computed over the lower case form and
     // so that the returned result contains the lower case form of the input and of the hrp
     // this is safe to do now because we know that all char in the string are [33, 126] and won't expand in length
     final String lowerInput = input.toLowerCase(Locale.ROOT);
     // process the human readable part
-    final byte[] hrp = new byte[seperatorIndex];
-    for (int i = 0; i < hrp.length; i++) {
-      hrp[i] = (byte) lowerInput.charAt(i);
-    }
+    final String hrp = lowerInput.substring(0, seperatorIndex);
     // process the data part
-    final byte[] data5 = new byte[lowerInput.length() - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH - hrp.length]; // may be zero length
+    final byte[] data5 = new byte[lowerInput.length() - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH - hrp.length()]; // may be zero length
     for (int i = 0; i < data5.length; i++) {
-      final int element = lowerInput.charAt(hrp.length + Bech32.SEPARATOR_LENGTH + i);
+      final int element = lowerInput.charAt(hrp.length() + Bech32.SEPARATOR_LENGTH + i);
       final byte lookup = Bech32.CHARSET_REVERSE[element];
       Util.ensure(lookup != Bech32.CHARSET.length, "data element not in Bech32 character set");
       data5[i] = lookup;
@@ -207,7 +280,46 @@ public final class Bech32 {
     }
     final Optional<Variant> variant = Bech32.verify(hrp, data5, checksum5);
     Util.ensure(variant.isPresent(), "checksum invalid");
-    return new Bech32(new String(hrp, StandardCharsets.US_ASCII), lowerInput, data5, variant.get());
+    return new Bech32(hrp, lowerInput, data5, variant.get());
+  }
+
+  /**
+   * Decodes input into target without allocating, for callers that decode many inputs and keep little of each. The
+   * checks and the exception messages are those of {@link #decode(String)}.
+   * @param input the Bech32 or Bech32m encoded data. Must not be null.
+   * @param target receives the human readable part length, the data and the variant. Must not be null. Its content is
+   * unspecified after a DecodingException.
+   * @return target
+   * @throws NullPointerException if input or target is null
+   * @throws DecodingException if input is not valid Bech32 or Bech32m
+   */
+  public static Decoded decode(final CharSequence input, final Decoded target) throws DecodingException {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(target, "target must not be null");
+    final int hrpLength = Bech32.separatorIndex(input);
+    final int dataStart = hrpLength + Bech32.SEPARATOR_LENGTH;
+    final int dataLength = input.length() - Bech32.CHECKSUM_LENGTH - dataStart; // may be zero
+    if (target.data.length < dataLength) {
+      target.data = new byte[dataLength];
+    }
+    final byte[] data5 = target.data;
+    for (int i = 0; i < dataLength; i++) {
+      final byte lookup = Bech32.CHARSET_REVERSE[Bech32.toLowerCase(input.charAt(dataStart + i))];
+      Util.ensure(lookup != Bech32.CHARSET.length, "data element not in Bech32 character set");
+      data5[i] = lookup;
+    }
+    int constant = Bech32.polymod(Bech32.hrpState(input, hrpLength), data5, dataLength);
+    for (int i = input.length() - Bech32.CHECKSUM_LENGTH; i < input.length(); i++) {
+      final byte lookup = Bech32.CHARSET_REVERSE[Bech32.toLowerCase(input.charAt(i))];
+      Util.ensure(lookup != Bech32.CHARSET.length, "checksum element not in Bech32 character set");
+      constant = ((constant & 0x01ffffff) << 5) ^ lookup ^ Bech32.GENERATOR[constant >>> 25];
+    }
+    final Variant variant = Bech32.variantOf(constant);
+    Util.ensure(variant != null, "checksum invalid");
+    target.dataLength = dataLength;
+    target.humanReadablePartLength = hrpLength;
+    target.variant = variant;
+    return target;
   }
 
   /**
@@ -223,6 +335,19 @@ public final class Bech32 {
     Objects.requireNonNull(variant, "variant must not be null");
     Util.check((Bech32.MIN_HRP_LENGTH <= humanReadablePart.length()) && (humanReadablePart.length() <= Bech32.MAX_HRP_LENGTH), "humanReadablePart length invalid");
     Util.check(data5.length <= (Bech32.MAX_BECH32_LENGTH - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH - humanReadablePart.length()), "data5 length invalid");
+    return Bech32.encodeOwned(humanReadablePart, data5.clone(), variant); // make defensive copy after data length is sanity checked
+  }
+
+  /**
+   * Encodes data5 that the caller hands over, without a defensive copy, writing the encoded form once.
+   * @param humanReadablePart see {@link #encode(String, byte[], Variant)}, its length already checked
+   * @param data5 see {@link #encode(String, byte[], Variant)}, its length already checked. Kept by the result.
+   * @param variant the checksum variant
+   * @throws IllegalArgumentException if an element of humanReadablePart or data5 is invalid
+   */
+  static Bech32 encodeOwned(final String humanReadablePart, final byte[] data5, final Variant variant) {
+    assert (Bech32.MIN_HRP_LENGTH <= humanReadablePart.length()) && (humanReadablePart.length() <= Bech32.MAX_HRP_LENGTH);
+    assert data5.length <= (Bech32.MAX_BECH32_LENGTH - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH - humanReadablePart.length());
     final byte[] hrp = new byte[humanReadablePart.length()];
     for (int i = 0; i < hrp.length; i++) {
       final int element = humanReadablePart.charAt(i); // do widening primitive conversion once
@@ -232,79 +357,207 @@ public final class Bech32 {
       Util.check(((element < 'A') || ('Z' < element)), "humanReadablePart element value invalid");
       hrp[i] = (byte) element;
     }
-    final byte[] cloned5 = data5.clone(); // make defensive copy after data length is sanity checked
-    for (final byte element : cloned5) { // verify that each element contains only 5 bits of data
+    for (final byte element : data5) { // verify that each element contains only 5 bits of data
       Util.check((0 <= element) && (element <= 31), "data5 element value invalid");
     }
-    final byte[] checksum5 = Bech32.checksum(hrp, cloned5, variant);
-    final byte[] combined = Util.concat(hrp, Bech32.SEPARATOR_ARRAY, cloned5, checksum5);
-    for (int i = hrp.length + Bech32.SEPARATOR_LENGTH; i < combined.length; i++) {
-      combined[i] = Bech32.CHARSET[combined[i]];
+    final int checksum = Bech32.checksum(humanReadablePart, data5, variant);
+    // write each part once, mapping the data and checksum elements to their characters as they are written
+    final byte[] encoded = new byte[hrp.length + Bech32.SEPARATOR_LENGTH + data5.length + Bech32.CHECKSUM_LENGTH];
+    int index = Util.gather(encoded, 0, hrp, Bech32.SEPARATOR_ARRAY);
+    for (final byte element : data5) {
+      encoded[index++] = Bech32.CHARSET[element];
     }
-    return new Bech32(new String(hrp, StandardCharsets.US_ASCII), new String(combined, StandardCharsets.US_ASCII), cloned5, variant);
+    for (int shift = 25; shift >= 0; shift -= 5) {
+      encoded[index++] = Bech32.CHARSET[(checksum >>> shift) & 0x1f];
+    }
+    return new Bech32(humanReadablePart, new String(encoded, StandardCharsets.US_ASCII), data5, variant);
   }
 
   /**
-   * @param hrp
-   * @return an array with each element containing 5 data bits per element
+   * @param hrp a valid human readable part, in lower case
+   * @return the polymod state after the expanded form of hrp, from the registry if it is there
    */
-  private static byte[] expand(final byte[] hrp) {
-    final byte[] result = new byte[(hrp.length * 2) + 1]; // the extra 1 is for the 0 in the middle
-    for (int i = 0; i < hrp.length; i++) {
-      final int value = hrp[i] & 0xff; // mask to discard any 1 bits added during widening primitive conversion sign extension
-      result[i] = (byte) (value >>> 5); // top 3 bits of the byte
-      result[hrp.length + 1 + i] = (byte) (value & 0x1f); // bottom 5 bits of the byte. add 1 to skip the 0 in the middle.
+  private static int hrpState(final String hrp) {
+    final Integer cached = Bech32.HRP_STATES.get(hrp);
+    if (cached != null) {
+      return cached;
     }
-    return result;
+    final int state = Bech32.polymod(hrp, hrp.length());
+    if (Bech32.HRP_STATES.size() < Bech32.MAX_HRP_STATES) { // a soft bound, concurrent first uses may pass it slightly
+      Bech32.HRP_STATES.putIfAbsent(hrp, state);
+    }
+    return state;
   }
 
   /**
-   * @param input array(s) with each element containing 5 data bits per element, that is, each element has a value in the range [0, 31]
-   * @return
+   * Compares the human readable part at the start of input with the common parts, without taking a substring of it.
+   * @param input a sequence that starts with a valid human readable part, in either case
+   * @param length the length of the human readable part
+   * @return the polymod state after the expanded form of the lower case human readable part, seeded if it is common
    */
-  private static int polymod(final byte[]... input) {
-    int result = 1; // 6, 5-bit values are packed together as a single 30-bit integer
-    for (final byte[] bytes : input) {
-      for (final byte element : bytes) {
-        final int value = element & 0xff; // mask to discard any 1 bits added during widening primitive conversion sign extension
-        assert (value >>> 5) == 0; // make sure no unexpected higher order bits are set, only the lowest 5 bits should be used
-        final int c0 = result >>> 25;
-        result = ((result & 0x01ffffff) << 5) ^ value;
-        if ((c0 & 1) != 0) {
-          result ^= 0x3b6a57b2;
+  private static int hrpState(final CharSequence input, final int length) {
+    for (int i = 0; i < Bech32.SEEDED_HRPS.length; i++) {
+      final String hrp = Bech32.SEEDED_HRPS[i];
+      if (hrp.length() == length) {
+        int j = 0;
+        while ((j < length) && (Bech32.toLowerCase(input.charAt(j)) == hrp.charAt(j))) {
+          j++;
         }
-        if ((c0 & 2) != 0) {
-          result ^= 0x26508e6d;
-        }
-        if ((c0 & 4) != 0) {
-          result ^= 0x1ea119fa;
-        }
-        if ((c0 & 8) != 0) {
-          result ^= 0x3d4233dd;
-        }
-        if ((c0 & 16) != 0) {
-          result ^= 0x2a1462b3;
+        if (j == length) {
+          return Bech32.SEEDED_HRP_STATES[i];
         }
       }
     }
+    return Bech32.polymod(input, length);
+  }
+
+  /**
+   * @param input a sequence of valid length
+   * @param index the index of a separator in input, or -1
+   * @return whether a separator at index leaves a human readable part and a checksum of valid lengths
+   */
+  static boolean isSeparatorLocation(final CharSequence input, final int index) {
+    return (Bech32.MIN_HRP_LENGTH <= index) && (index <= Bech32.MAX_HRP_LENGTH) && (index <= (input.length() - Bech32.CHECKSUM_LENGTH - Bech32.SEPARATOR_LENGTH));
+  }
+
+  /**
+   * Checks the length and characters of input and finds its last separator, without checking its location.
+   * @return the index of the last separator in input, or -1
+   */
+  static int lastSeparatorIndex(final CharSequence input) throws DecodingException {
+    Util.ensure((Bech32.MIN_BECH32_LENGTH <= input.length()) && (input.length() <= Bech32.MAX_BECH32_LENGTH), "input length invalid");
+    int seperatorIndex = -1;
+    boolean hasLower = false;
+    boolean hasUpper = false;
+    for (int i = 0; i < input.length(); i++) {
+      final int element = input.charAt(i); // do widening primitive conversion once
+      Util.ensure((33 <= element) && (element <= 126), "input element value invalid");
+      hasLower |= ('a' <= element) && (element <= 'z');
+      hasUpper |= ('A' <= element) && (element <= 'Z');
+      Util.ensure((!hasLower || !hasUpper), "input is mixed case");
+      if (Bech32.SEPARATOR == element) {
+        seperatorIndex = i; // the last one found is the separator
+      }
+    }
+    return seperatorIndex;
+  }
+
+  /**
+   * @param hrp the human readable part, or a sequence that starts with it
+   * @param length the length of the human readable part
+   * @return the polymod state after the expanded form of the lower case human readable part: the top 3 bits of each
+   * character, a 0, then the bottom 5 bits of each character
+   */
+  static int polymod(final CharSequence hrp, final int length) {
+    int result = 1;
+    for (int i = 0; i < ((length * 2) + 1); i++) {
+      final int value = (i < length) ? (Bech32.toLowerCase(hrp.charAt(i)) >>> 5) : (i == length) ? 0 : (Bech32.toLowerCase(hrp.charAt(i - length - 1)) & 0x1f);
+      result = ((result & 0x01ffffff) << 5) ^ value ^ Bech32.GENERATOR[result >>> 25];
+    }
     return result;
   }
 
   /**
-   * @param hrp
-   * @param data byte array with element values in the range [0, 31] (base32 values)
-   * @param checksum
+   * @param start the state to resume from, 1 for the empty input or a state returned by {@link #hrpState(String)}
+   * @param input array(s) with each element containing 5 data bits per element, that is, each element has a value in the range [0, 31]
    * @return
    */
-  private static Optional<Variant> verify(final byte[] hrp, final byte[] data, final byte[] checksum) {
-    final int constant = Bech32.polymod(Bech32.expand(hrp), data, checksum);
+  static int polymod(final int start, final byte[]... input) {
+    int result = start; // 6, 5-bit values are packed together as a single 30-bit integer
+    for (final byte[] bytes : input) {
+      result = Bech32.polymod(result, bytes, bytes.length);
+    }
+    return result;
+  }
+
+  /**
+   * @param start the state to resume from
+   * @param input an array with each element containing 5 data bits per element
+   * @param length the number of elements of input to process, from the first
+   * @return the state after the elements
+   */
+  private static int polymod(final int start, final byte[] input, final int length) {
+    int result = start;
+    final int pairs = length & ~1;
+    for (int i = 0; i < pairs; i += 2) { // two symbols per step, without branches
+      final int value = ((input[i] & 0xff) << 5) | (input[i + 1] & 0xff); // mask to discard any 1 bits added during widening primitive conversion sign extension
+      assert (value >>> 10) == 0; // make sure no unexpected higher order bits are set, only the lowest 5 bits of each should be used
+      result = ((result & 0x000fffff) << 10) ^ value ^ Bech32.GENERATOR_PAIRS[result >>> 20];
+    }
+    if (pairs != length) { // the odd symbol at the end
+      final int value = input[pairs] & 0xff;
+      assert (value >>> 5) == 0;
+      result = ((result & 0x01ffffff) << 5) ^ value ^ Bech32.GENERATOR[result >>> 25];
+    }
+    return result;
+  }
+
+  /**
+   * Checks the length and characters of input and finds its separator.
+   * @return the index of the last separator in input, which is also the length of the human readable part
+   */
+  static int separatorIndex(final CharSequence input) throws DecodingException {
+    final int seperatorIndex = Bech32.lastSeparatorIndex(input);
+    Util.ensure(Bech32.isSeparatorLocation(input, seperatorIndex), "separator location invalid");
+    return seperatorIndex;
+  }
+
+  /**
+   * The polymod of one symbol, testing each generator bit. Used to build the generator tables.
+   * @param result the state before the symbol, a 30-bit integer
+   * @param value the symbol, in the range [0, 31]
+   * @return the state after the symbol
+   */
+  static int step(final int result, final int value) {
+    final int c0 = result >>> 25;
+    int next = ((result & 0x01ffffff) << 5) ^ value;
+    if ((c0 & 1) != 0) {
+      next ^= 0x3b6a57b2;
+    }
+    if ((c0 & 2) != 0) {
+      next ^= 0x26508e6d;
+    }
+    if ((c0 & 4) != 0) {
+      next ^= 0x1ea119fa;
+    }
+    if ((c0 & 8) != 0) {
+      next ^= 0x3d4233dd;
+    }
+    if ((c0 & 16) != 0) {
+      next ^= 0x2a1462b3;
+    }
+    return next;
+  }
+
+  /**
+   * @param element a character in the range [33, 126]
+   * @return the lower case form of element
+   */
+  static int toLowerCase(final int element) {
+    return (('A' <= element) && (element <= 'Z')) ? (element | 0x20) : element;
+  }
+
+  /**
+   * @return the variant whose constant the polymod of a valid input equals, or null
+   */
+  private static Variant variantOf(final int constant) {
     if (Variant.BECH32.getConstant() == constant) {
-      return Optional.of(Variant.BECH32);
+      return Variant.BECH32;
     }
     if (Variant.BECH32M.getConstant() == constant) {
-      return Optional.of(Variant.BECH32M);
+      return Variant.BECH32M;
     }
-    return Optional.empty();
+    return null;
+  }
+
+  /**
+   * @param hrp
+   * @param data byte array with element values in the range [0, 31] (base32 values)
+   * @param checksum
+   * @return
+   */
+  private static Optional<Variant> verify(final String hrp, final byte[] data, final byte[] checksum) {
+    return Optional.ofNullable(Bech32.variantOf(Bech32.polymod(Bech32.hrpState(hrp), data, checksum)));
   }
 
   private final String humanReadablePart;
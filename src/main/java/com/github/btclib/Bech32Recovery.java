@@ -0,0 +1,209 @@
+package com.github.btclib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+import com.github.btclib.Bech32.Variant;
+
+/**
+ * Locates and corrects substituted characters in the data and checksum of mistyped Bech32 and Bech32m strings.
+ *
+ * The polymod is linear, so the residue of a mistyped string, its polymod with the constant of the variant removed, is
+ * the XOR of the residues that each substitution would leave on its own. That residue depends only on the XOR of the
+ * typed and the intended symbol and on the distance of the character from the end of the string. The residues of all
+ * single substitutions are precomputed into a table, so the residue is computed once and then one substitution is
+ * located with one lookup, and two with one lookup per candidate first substitution, without recomputing checksums.
+ * Characters that are not in the Bech32 character set are substitutions at known positions. Substitutions in the human
+ * readable part are not located. Up to 90 characters, the BIP 173 limit, the checksum detects any 4 substitutions, so
+ * a correction of at most 2 substitutions is unique.
+ */
+public final class Bech32Recovery {
+  public static final int MAX_ERRORS = 2;
+  public static final int MAX_LENGTH = 90;
+
+  /**
+   * A candidate correction of a mistyped string.
+   */
+  public static final class Correction {
+    private final int[] positions;
+    private final String corrected;
+
+    private Correction(final int[] positions, final String corrected) {
+      this.positions = positions;
+      this.corrected = corrected;
+    }
+
+    /**
+     * @return the indexes of the corrected characters in the mistyped string, in ascending order, empty if it was valid
+     */
+    public int[] getPositions() {
+      return this.positions.clone();
+    }
+
+    /**
+     * @return the corrected string, in lower case
+     */
+    @Override
+    public String toString() {
+      return this.corrected;
+    }
+  }
+
+  // the residue of each single substitution, indexed by distance * 32 + the XOR of the typed and intended symbol
+  private static final int[] RESIDUES = new int[Bech32Recovery.MAX_LENGTH * 32];
+  // an open addressing table from the residue of each single substitution to its index in RESIDUES. no two single
+  // substitutions within MAX_LENGTH leave the same residue, or the checksum would not detect them both.
+  private static final int TABLE_BITS = 13; // 8192 slots for 2790 entries
+  private static final int[] TABLE_KEYS = new int[1 << Bech32Recovery.TABLE_BITS]; // 0 is an empty slot, no residue is 0
+  private static final short[] TABLE_VALUES = new short[1 << Bech32Recovery.TABLE_BITS];
+  static {
+    for (int value = 1; value < 32; value++) {
+      int residue = value; // the polymod from a zero state of value followed by distance zero symbols
+      for (int distance = 0; distance < Bech32Recovery.MAX_LENGTH; distance++) {
+        Bech32Recovery.RESIDUES[(distance * 32) + value] = residue;
+        int slot = Bech32Recovery.slot(residue);
+        while (Bech32Recovery.TABLE_KEYS[slot] != 0) {
+          assert Bech32Recovery.TABLE_KEYS[slot] != residue;
+          slot = (slot + 1) & (Bech32Recovery.TABLE_KEYS.length - 1);
+        }
+        Bech32Recovery.TABLE_KEYS[slot] = residue;
+        Bech32Recovery.TABLE_VALUES[slot] = (short) ((distance * 32) + value);
+        residue = Bech32.step(residue, 0);
+      }
+    }
+  }
+
+  /**
+   * @param residue a residue
+   * @return the index in RESIDUES of the single substitution that leaves residue, or -1
+   */
+  private static int locate(final int residue) {
+    for (int slot = Bech32Recovery.slot(residue); Bech32Recovery.TABLE_KEYS[slot] != 0; slot = (slot + 1) & (Bech32Recovery.TABLE_KEYS.length - 1)) {
+      if (Bech32Recovery.TABLE_KEYS[slot] == residue) {
+        return Bech32Recovery.TABLE_VALUES[slot];
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param input The mistyped string. Must not be null. Must be less than or equal to 90 characters in length. Must be a
+   * well formed Bech32 string apart from its checksum, except that up to 2 characters of its data and checksum may be
+   * outside of the Bech32 character set. A '1' in the data or checksum, such as an 'l' typed as '1', is one of those:
+   * each of the last 3 '1's whose location is valid is tried as the separator, with the '1's after it as substitutions.
+   * @param variant The variant that input is intended to be. Must not be null.
+   * @return the corrections of the fewest substitutions, at most 2, that make input a valid string of variant, in
+   * ascending order. A valid input is its own only correction, without positions. Empty if there is none.
+   * @throws NullPointerException if input or variant is null
+   * @throws IllegalArgumentException if input is too long
+   * @throws DecodingException if input is not well formed as described
+   */
+  public static List<Correction> recover(final CharSequence input, final Variant variant) throws DecodingException {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(variant, "variant must not be null");
+    Util.check(input.length() <= Bech32Recovery.MAX_LENGTH, "input too long");
+    final var result = new ArrayList<Correction>();
+    int fewest = Bech32Recovery.MAX_ERRORS;
+    boolean located = false;
+    int later = 0; // the number of '1's after the candidate separator, each a character outside of the character set
+    for (int separator = Bech32.lastSeparatorIndex(input); (separator >= 0) && (later <= Bech32Recovery.MAX_ERRORS); separator--) {
+      if (input.charAt(separator) == Bech32.SEPARATOR) {
+        if (Bech32.isSeparatorLocation(input, separator)) {
+          located = true;
+          fewest = Bech32Recovery.recover(input, variant, separator, fewest, result);
+        }
+        later++;
+      }
+    }
+    Util.ensure(located, "separator location invalid");
+    result.sort(Comparator.comparing(Correction::toString));
+    return result;
+  }
+
+  /**
+   * Adds the corrections of input with the separator at hrpLength to result, unless they take more substitutions than
+   * the corrections already in it, which are removed if they take more.
+   * @param fewest the number of substitutions of the corrections in result, or MAX_ERRORS if it is empty
+   * @return the number of substitutions of the corrections in result, or MAX_ERRORS if it is empty
+   */
+  private static int recover(final CharSequence input, final Variant variant, final int hrpLength, final int fewest, final List<Correction> result) {
+    final int start = hrpLength + Bech32.SEPARATOR_LENGTH;
+    final int length = input.length();
+    final byte[] symbols = new byte[length - start]; // the data and checksum
+    final int[] erasures = new int[Bech32Recovery.MAX_ERRORS]; // the indexes of the characters outside of the character set, whose symbols are taken as 0
+    int erasureCount = 0;
+    for (int i = 0; i < symbols.length; i++) {
+      final byte lookup = Bech32.CHARSET_REVERSE[Bech32.toLowerCase(input.charAt(start + i))];
+      if (lookup == Bech32.CHARSET.length) {
+        if (erasureCount == Bech32Recovery.MAX_ERRORS) {
+          return fewest;
+        }
+        erasures[erasureCount++] = start + i;
+      } else {
+        symbols[i] = lookup;
+      }
+    }
+    final int residue = Bech32.polymod(Bech32.polymod(input, hrpLength), symbols) ^ variant.getConstant();
+    final List<int[]> found = new ArrayList<>(); // the indexes in RESIDUES of the substitutions of each candidate
+    if (residue == 0) {
+      found.add(new int[0]);
+    }
+    final int single = Bech32Recovery.locate(residue);
+    if ((single >= 0) && ((single / 32) < symbols.length)) {
+      found.add(new int[] { single, });
+    }
+    for (int first = 32; first < (symbols.length * 32); first++) { // a second substitution closer to the end than the first
+      if ((first % 32) != 0) {
+        final int second = Bech32Recovery.locate(residue ^ Bech32Recovery.RESIDUES[first]);
+        if ((second >= 0) && ((second / 32) < (first / 32))) {
+          found.add(new int[] { first, second, });
+        }
+      }
+    }
+    final String lowerInput = input.toString().toLowerCase(Locale.ROOT);
+    int least = fewest;
+    for (final int[] substitutions : found) {
+      final char[] corrected = lowerInput.toCharArray();
+      final int[] positions = new int[Bech32Recovery.MAX_ERRORS * 2];
+      int count = 0;
+      for (final int substitution : substitutions) {
+        final int index = length - 1 - (substitution / 32);
+        corrected[index] = (char) Bech32.CHARSET[symbols[index - start] ^ (substitution % 32)];
+        positions[count++] = index;
+      }
+      for (int i = 0; i < erasureCount; i++) { // an erasure without a substitution is the symbol 0
+        final int index = erasures[i];
+        if (Bech32.CHARSET_REVERSE[corrected[index]] == Bech32.CHARSET.length) {
+          corrected[index] = (char) Bech32.CHARSET[0];
+          positions[count++] = index;
+        }
+      }
+      if (count > least) {
+        continue;
+      }
+      if (count < least) {
+        least = count;
+        result.clear();
+      }
+      final int[] sorted = Arrays.copyOf(positions, count);
+      Arrays.sort(sorted);
+      result.add(new Correction(sorted, new String(corrected)));
+    }
+    return least;
+  }
+
+  /**
+   * @return the first slot of the open addressing table to probe for residue
+   */
+  private static int slot(final int residue) {
+    return (residue * 0x9e3779b1) >>> (32 - Bech32Recovery.TABLE_BITS);
+  }
+
+  private Bech32Recovery() {
+    throw new AssertionError("suppress default constructor for noninstantiability");
+  }
+}
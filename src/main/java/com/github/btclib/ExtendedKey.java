@@ -0,0 +1,172 @@
+package com.github.btclib;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A BIP32 extended public or private key, serialized as 78 bytes and encoded as "Base58 Check". The fields are read
+ * from, and exposed as views over, a single backing array that holds the serialization.
+ * https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki#serialization-format
+ */
+public final class ExtendedKey {
+  // version bytes of the Bitcoin networks
+  public static final int XPUB = 0x0488b21e;
+  public static final int XPRV = 0x0488ade4;
+  public static final int TPUB = 0x043587cf;
+  public static final int TPRV = 0x04358394;
+  public static final int LENGTH = 78; // the length of the serialization in bytes
+  // a 78 byte payload with checksum encodes to at most 115 symbols
+  public static final int MAX_ENCODED_LENGTH = Base58Limbs.FIXED_LONG_DIGITS;
+  public static final int CHAIN_CODE_LENGTH = 32;
+  public static final int KEY_DATA_LENGTH = 33;
+  // the offsets of the fields in the serialization
+  private static final int DEPTH_OFFSET = 4;
+  private static final int PARENT_FINGERPRINT_OFFSET = 5;
+  private static final int CHILD_NUMBER_OFFSET = 9;
+  private static final int CHAIN_CODE_OFFSET = 13;
+  private static final int KEY_DATA_OFFSET = 45;
+
+  /**
+   * @param version the version bytes, such as XPUB or XPRV
+   * @param depth the depth, must be in the range [0, 255]
+   * @param parentFingerprint the fingerprint of the parent key, must be 0 if depth is 0
+   * @param childNumber the child number, must be 0 if depth is 0. Hardened child numbers have the most significant bit set.
+   * @param chainCode the chain code; must not be null, must be 32 bytes long
+   * @param keyData the public key in compressed form, or 0x00 followed by the private key; must not be null, must be 33 bytes long
+   * @return the ExtendedKey with the given fields
+   * @throws NullPointerException if chainCode or keyData are null
+   * @throws IllegalArgumentException if depth is not in the range [0, 255], if depth is 0 and parentFingerprint or childNumber
+   * are not 0, if chainCode length is not 32, if keyData length is not 33, or if the first byte of keyData is not 0x00, 0x02 or 0x03
+   */
+  public static ExtendedKey of(final int version, final int depth, final int parentFingerprint, final int childNumber, final byte[] chainCode, final byte[] keyData) {
+    Objects.requireNonNull(chainCode, "chainCode must not be null");
+    Objects.requireNonNull(keyData, "keyData must not be null");
+    Util.check((0 <= depth) && (depth <= 255), "depth invalid");
+    Util.check((depth != 0) || (parentFingerprint == 0), "parentFingerprint must be 0 at depth 0");
+    Util.check((depth != 0) || (childNumber == 0), "childNumber must be 0 at depth 0");
+    Util.check(chainCode.length == ExtendedKey.CHAIN_CODE_LENGTH, "chainCode length invalid");
+    Util.check(keyData.length == ExtendedKey.KEY_DATA_LENGTH, "keyData length invalid");
+    Util.check(ExtendedKey.isKeyDataPrefix(keyData[0]), "keyData prefix invalid");
+    // the fields are written into the serialization directly, which also serves as the defensive copy
+    final byte[] data = new byte[ExtendedKey.LENGTH];
+    ExtendedKey.putInt(data, 0, version);
+    data[ExtendedKey.DEPTH_OFFSET] = (byte) depth;
+    ExtendedKey.putInt(data, ExtendedKey.PARENT_FINGERPRINT_OFFSET, parentFingerprint);
+    ExtendedKey.putInt(data, ExtendedKey.CHILD_NUMBER_OFFSET, childNumber);
+    System.arraycopy(chainCode, 0, data, ExtendedKey.CHAIN_CODE_OFFSET, ExtendedKey.CHAIN_CODE_LENGTH);
+    System.arraycopy(keyData, 0, data, ExtendedKey.KEY_DATA_OFFSET, ExtendedKey.KEY_DATA_LENGTH);
+    return new ExtendedKey(data, null);
+  }
+
+  /**
+   * @param key a "Base58 Check" encoded extended key to decode, must be of length [1, 115]
+   * @return an ExtendedKey decoded from the given key
+   * @throws NullPointerException if key is null
+   * @throws DecodingException if key is not a valid extended key
+   */
+  public static ExtendedKey of(final String key) throws DecodingException {
+    Objects.requireNonNull(key, "key must not be null");
+    Util.ensure((1 <= key.length()) && (key.length() <= ExtendedKey.MAX_ENCODED_LENGTH), "key length invalid");
+    final byte[] data = Base58Check.decode(key); // at most 115 symbols, so the payload is decoded without allocating limbs
+    Util.ensure(data.length == ExtendedKey.LENGTH, "decoded data length invalid");
+    final boolean root = data[ExtendedKey.DEPTH_OFFSET] == 0;
+    Util.ensure(!root || (ExtendedKey.getInt(data, ExtendedKey.PARENT_FINGERPRINT_OFFSET) == 0), "decoded parentFingerprint invalid at depth 0");
+    Util.ensure(!root || (ExtendedKey.getInt(data, ExtendedKey.CHILD_NUMBER_OFFSET) == 0), "decoded childNumber invalid at depth 0");
+    Util.ensure(ExtendedKey.isKeyDataPrefix(data[ExtendedKey.KEY_DATA_OFFSET]), "decoded keyData prefix invalid");
+    return new ExtendedKey(data, key); // the decoded array is not shared, so it becomes the backing array as is
+  }
+
+  private static int getInt(final byte[] data, final int offset) {
+    return ((data[offset] & 0xff) << 24) | ((data[offset + 1] & 0xff) << 16) | ((data[offset + 2] & 0xff) << 8) | (data[offset + 3] & 0xff);
+  }
+
+  private static boolean isKeyDataPrefix(final byte prefix) {
+    return (prefix == 0x00 /* private key */) || (prefix == 0x02) || (prefix == 0x03);
+  }
+
+  private static void putInt(final byte[] data, final int offset, final int value) {
+    data[offset] = (byte) (value >>> 24);
+    data[offset + 1] = (byte) (value >>> 16);
+    data[offset + 2] = (byte) (value >>> 8);
+    data[offset + 3] = (byte) value;
+  }
+
+  private final byte[] data; // the 78 byte serialization
+  private String encoded; // computed on first use. racing threads compute the same immutable String.
+
+  private ExtendedKey(final byte[] data, final String encoded) {
+    assert data != null;
+    assert data.length == ExtendedKey.LENGTH;
+    this.data = data; // we don't clone the input array since this is a private constructor and the static factory methods already make defensive copies
+    this.encoded = encoded;
+  }
+
+  /**
+   * @return a read-only view of the 32 byte chain code
+   */
+  public ByteBuffer getChainCode() {
+    return ByteBuffer.wrap(this.data, ExtendedKey.CHAIN_CODE_OFFSET, ExtendedKey.CHAIN_CODE_LENGTH).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * @return the child number. Hardened child numbers have the most significant bit set.
+   */
+  public int getChildNumber() {
+    return ExtendedKey.getInt(this.data, ExtendedKey.CHILD_NUMBER_OFFSET);
+  }
+
+  /**
+   * @return the depth, in the range [0, 255]
+   */
+  public int getDepth() {
+    return this.data[ExtendedKey.DEPTH_OFFSET] & 0xff;
+  }
+
+  /**
+   * @return a read-only view of the 33 byte key data, the public key in compressed form or 0x00 followed by the private key
+   */
+  public ByteBuffer getKeyData() {
+    return ByteBuffer.wrap(this.data, ExtendedKey.KEY_DATA_OFFSET, ExtendedKey.KEY_DATA_LENGTH).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * @return the fingerprint of the parent key
+   */
+  public int getParentFingerprint() {
+    return ExtendedKey.getInt(this.data, ExtendedKey.PARENT_FINGERPRINT_OFFSET);
+  }
+
+  /**
+   * @return the version bytes
+   */
+  public int getVersion() {
+    return ExtendedKey.getInt(this.data, 0);
+  }
+
+  /**
+   * @return true if the key data holds a private key
+   */
+  public boolean isPrivate() {
+    return this.data[ExtendedKey.KEY_DATA_OFFSET] == 0x00;
+  }
+
+  /**
+   * @return a copy of the 78 byte serialization
+   */
+  public byte[] toByteArray() {
+    return this.data.clone();
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    String result = this.encoded;
+    if (result == null) {
+      result = Base58Check.encode(this.data); // a 78 byte payload takes the fixed width path
+      this.encoded = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,219 @@
+package com.github.btclib;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A "Base58 Check" encoded P2PKH or P2SH address: a version byte followed by a 20 byte hash160.
+ * https://en.bitcoin.it/wiki/Base58Check_encoding
+ * https://github.com/bitcoin/bips/blob/master/bip-0013.mediawiki
+ * https://github.com/bitcoin/bips/blob/master/bip-0016.mediawiki
+ */
+public final class LegacyAddress {
+  public enum Type {
+    P2PKH, // pay to public key hash
+    P2SH; // pay to script hash
+  }
+
+  // version bytes of the Bitcoin networks
+  public static final int P2PKH_MAINNET = 0x00;
+  public static final int P2SH_MAINNET = 0x05;
+  public static final int P2PKH_TESTNET = 0x6f;
+  public static final int P2SH_TESTNET = 0xc4;
+  public static final int HASH_LENGTH = 20;
+  // a 21 byte payload with checksum encodes to at most 35 symbols
+  public static final int MAX_LENGTH = Base58Limbs.FIXED_SHORT_DIGITS;
+  // OP_DUP OP_HASH160 <20 bytes> OP_EQUALVERIFY OP_CHECKSIG
+  private static final int P2PKH_SCRIPT_LENGTH = 25;
+  // OP_HASH160 <20 bytes> OP_EQUAL
+  private static final int P2SH_SCRIPT_LENGTH = 23;
+  private static final byte OP_DUP = (byte) 0x76;
+  private static final byte OP_HASH160 = (byte) 0xa9;
+  private static final byte OP_EQUAL = (byte) 0x87;
+  private static final byte OP_EQUALVERIFY = (byte) 0x88;
+  private static final byte OP_CHECKSIG = (byte) 0xac;
+
+  /**
+   * @param p2pkhVersion the version byte of P2PKH addresses on the network, must be in the range [0, 255]
+   * @param p2shVersion the version byte of P2SH addresses on the network, must be in the range [0, 255] and must differ from p2pkhVersion
+   * @param script a P2PKH or P2SH output script, also commonly known as the scriptPubKey; must not be null
+   * @return the LegacyAddress paid to by the given output script
+   * @throws NullPointerException if script is null
+   * @throws IllegalArgumentException if either version is not in the range [0, 255], or if the versions are equal
+   * @throws DecodingException if script is not a P2PKH or P2SH output script
+   */
+  public static LegacyAddress fromOutputScript(final int p2pkhVersion, final int p2shVersion, final byte[] script) throws DecodingException {
+    LegacyAddress.checkVersions(p2pkhVersion, p2shVersion);
+    Objects.requireNonNull(script, "script must not be null");
+    if ((script.length == LegacyAddress.P2PKH_SCRIPT_LENGTH) && (script[0] == LegacyAddress.OP_DUP) && (script[1] == LegacyAddress.OP_HASH160) && (script[2] == LegacyAddress.HASH_LENGTH) && (script[23] == LegacyAddress.OP_EQUALVERIFY) && (script[24] == LegacyAddress.OP_CHECKSIG)) {
+      return LegacyAddress.of(Type.P2PKH, p2pkhVersion, script, 3);
+    }
+    if ((script.length == LegacyAddress.P2SH_SCRIPT_LENGTH) && (script[0] == LegacyAddress.OP_HASH160) && (script[1] == LegacyAddress.HASH_LENGTH) && (script[22] == LegacyAddress.OP_EQUAL)) {
+      return LegacyAddress.of(Type.P2SH, p2shVersion, script, 2);
+    }
+    throw new DecodingException("output script invalid");
+  }
+
+  /**
+   * Derives the P2PKH address of a public key, hashing the key straight into the payload that is encoded.
+   * @param version the P2PKH version byte of the network, must be in the range [0, 255]
+   * @param publicKey a serialized secp256k1 public key; must not be null, must be 33 bytes long with prefix 0x02 or
+   * 0x03 (compressed), or 65 bytes long with prefix 0x04 (uncompressed)
+   * @return the P2PKH LegacyAddress of publicKey
+   * @throws NullPointerException if publicKey is null
+   * @throws IllegalArgumentException if version not in the range [0, 255], or if publicKey length or prefix is invalid
+   */
+  public static LegacyAddress fromPublicKey(final int version, final byte[] publicKey) {
+    Objects.requireNonNull(publicKey, "publicKey must not be null");
+    Util.check((0 <= version) && (version <= 255), "version invalid");
+    Util.check((publicKey.length == 33) || (publicKey.length == 65), "publicKey length invalid");
+    Util.check((publicKey.length == 33) ? ((publicKey[0] == 0x02) || (publicKey[0] == 0x03)) : (publicKey[0] == 0x04), "publicKey prefix invalid");
+    final byte[] payload = new byte[1 + LegacyAddress.HASH_LENGTH];
+    payload[0] = (byte) version;
+    Util.hash160(publicKey, 0, publicKey.length, payload, 1);
+    final String address = Base58Check.encode(payload); // a 21 byte payload takes the fixed width path
+    return new LegacyAddress(Type.P2PKH, version, Arrays.copyOfRange(payload, 1, payload.length), address);
+  }
+
+  /**
+   * @param p2pkhVersion the version byte of P2PKH addresses on the network, must be in the range [0, 255]
+   * @param p2shVersion the version byte of P2SH addresses on the network, must be in the range [0, 255] and must differ from p2pkhVersion
+   * @param address a "Base58 Check" encoded address to decode, must be of length [1, 35]
+   * @return a LegacyAddress decoded from the given address
+   * @throws NullPointerException if address is null
+   * @throws IllegalArgumentException if either version is not in the range [0, 255], or if the versions are equal
+   * @throws DecodingException if address is not a P2PKH or P2SH address of the network
+   */
+  public static LegacyAddress of(final int p2pkhVersion, final int p2shVersion, final String address) throws DecodingException {
+    LegacyAddress.checkVersions(p2pkhVersion, p2shVersion);
+    Objects.requireNonNull(address, "address must not be null");
+    Util.ensure((1 <= address.length()) && (address.length() <= LegacyAddress.MAX_LENGTH), "address length invalid");
+    final byte[] data = Base58Check.decode(address); // at most 35 symbols, so the payload is decoded without allocating limbs
+    Util.ensure(data.length == (1 + LegacyAddress.HASH_LENGTH), "decoded data length invalid");
+    final int version = data[0] & 0xff;
+    Util.ensure((version == p2pkhVersion) || (version == p2shVersion), "decoded version invalid");
+    final var type = (version == p2pkhVersion) ? Type.P2PKH : Type.P2SH;
+    return new LegacyAddress(type, version, Arrays.copyOfRange(data, 1, data.length), address);
+  }
+
+  /**
+   * @param type the type of the address; must not be null
+   * @param version the version byte of the address type on the network, must be in the range [0, 255]
+   * @param hash the hash160 of the public key for P2PKH or of the redeem script for P2SH; must not be null, must be 20 bytes long
+   * @return the LegacyAddress encoded with the given arguments
+   * @throws NullPointerException if type or hash are null
+   * @throws IllegalArgumentException if version not in the range [0, 255], or if hash length is not 20
+   */
+  public static LegacyAddress of(final Type type, final int version, final byte[] hash) {
+    Objects.requireNonNull(type, "type must not be null");
+    Objects.requireNonNull(hash, "hash must not be null");
+    Util.check((0 <= version) && (version <= 255), "version invalid");
+    Util.check(hash.length == LegacyAddress.HASH_LENGTH, "hash length invalid");
+    return LegacyAddress.of(type, version, hash, 0);
+  }
+
+  /**
+   * Copies the hash out of source once, into the array that the address keeps.
+   * @param type the type of the address, already checked
+   * @param version the version byte, already checked
+   * @param source an array that holds the 20 byte hash160 at offset, already checked
+   * @param offset the index of the hash in source
+   */
+  static LegacyAddress of(final Type type, final int version, final byte[] source, final int offset) {
+    assert (0 <= offset) && (offset <= (source.length - LegacyAddress.HASH_LENGTH));
+    final byte[] hash = Arrays.copyOfRange(source, offset, offset + LegacyAddress.HASH_LENGTH); // the defensive copy
+    final String address = Base58Check.encode(Util.concat(version, hash)); // a 21 byte payload takes the fixed width path
+    return new LegacyAddress(type, version, hash, address);
+  }
+
+  private static void checkVersions(final int p2pkhVersion, final int p2shVersion) {
+    Util.check((0 <= p2pkhVersion) && (p2pkhVersion <= 255), "p2pkhVersion invalid");
+    Util.check((0 <= p2shVersion) && (p2shVersion <= 255), "p2shVersion invalid");
+    Util.check(p2pkhVersion != p2shVersion, "versions must differ");
+  }
+
+  private final Type type;
+  private final int version;
+  private final byte[] hash;
+  private final String address;
+
+  private LegacyAddress(final Type type, final int version, final byte[] hash, final String address) {
+    assert type != null;
+    assert hash != null;
+    assert address != null;
+    assert (0 <= version) && (version <= 255);
+    assert hash.length == LegacyAddress.HASH_LENGTH;
+    this.type = type;
+    this.version = version;
+    this.hash = hash; // we don't clone the input array since this is a private constructor and the static factory methods already make defensive copies
+    this.address = address;
+  }
+
+  /**
+   * @return the hash160
+   */
+  public byte[] getHash() {
+    return this.hash.clone();
+  }
+
+  /**
+   * @return the type
+   */
+  public Type getType() {
+    return this.type;
+  }
+
+  /**
+   * @return the version byte, in the range [0, 255]
+   */
+  public int getVersion() {
+    return this.version;
+  }
+
+  /**
+   * @return a byte array containing the output script, also commonly known as the scriptPubKey, corresponding to this address
+   */
+  public byte[] toOutputScript() {
+    final byte[] result = new byte[(this.type == Type.P2PKH) ? LegacyAddress.P2PKH_SCRIPT_LENGTH : LegacyAddress.P2SH_SCRIPT_LENGTH];
+    this.toOutputScript(result, 0);
+    return result;
+  }
+
+  /**
+   * Writes the output script, also commonly known as the scriptPubKey, corresponding to this address into output
+   * starting at offset. This allocates nothing.
+   * @param output The array to write the script to. Must not be null. Must have room for 25 bytes for P2PKH, 23 for P2SH.
+   * @param offset The index in output of the first script byte. Must be in [0, output.length].
+   * @return The number of script bytes written to output.
+   * @throws NullPointerException if output is null
+   * @throws IllegalArgumentException if offset is invalid, or if the script does not fit in output
+   */
+  public int toOutputScript(final byte[] output, final int offset) {
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((0 <= offset) && (offset <= output.length), "offset invalid");
+    if (this.type == Type.P2PKH) {
+      Util.check(LegacyAddress.P2PKH_SCRIPT_LENGTH <= (output.length - offset), "output too small");
+      output[offset] = LegacyAddress.OP_DUP;
+      output[offset + 1] = LegacyAddress.OP_HASH160;
+      output[offset + 2] = LegacyAddress.HASH_LENGTH; // a direct push of the hash
+      System.arraycopy(this.hash, 0, output, offset + 3, LegacyAddress.HASH_LENGTH);
+      output[offset + 23] = LegacyAddress.OP_EQUALVERIFY;
+      output[offset + 24] = LegacyAddress.OP_CHECKSIG;
+      return LegacyAddress.P2PKH_SCRIPT_LENGTH;
+    }
+    Util.check(LegacyAddress.P2SH_SCRIPT_LENGTH <= (output.length - offset), "output too small");
+    output[offset] = LegacyAddress.OP_HASH160;
+    output[offset + 1] = LegacyAddress.HASH_LENGTH; // a direct push of the hash
+    System.arraycopy(this.hash, 0, output, offset + 2, LegacyAddress.HASH_LENGTH);
+    output[offset + 22] = LegacyAddress.OP_EQUAL;
+    return LegacyAddress.P2SH_SCRIPT_LENGTH;
+  }
+
+  /**
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return this.address;
+  }
+}
@@ -0,0 +1,145 @@
+package com.github.btclib;
+
+/**
+ * A RIPEMD-160 engine, which the JDK does not provide, for the hash160 of public keys and scripts. It hashes directly
+ * from and into caller arrays and keeps its state and message block between uses. An instance is not thread safe.
+ * https://homes.esat.kuleuven.be/~bosselae/ripemd160/pdf/AB-9601/AB-9601.pdf
+ */
+final class Ripemd160 {
+  private static final int[] R = { // the message word of each step of the left line
+      0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, //
+      7, 4, 13, 1, 10, 6, 15, 3, 12, 0, 9, 5, 2, 14, 11, 8, //
+      3, 10, 14, 4, 9, 15, 8, 1, 2, 7, 0, 6, 13, 11, 5, 12, //
+      1, 9, 11, 10, 0, 8, 12, 4, 13, 3, 7, 15, 14, 5, 6, 2, //
+      4, 0, 5, 9, 7, 12, 2, 10, 14, 1, 3, 8, 11, 6, 15, 13, };
+  private static final int[] RR = { // the message word of each step of the right line
+      5, 14, 7, 0, 9, 2, 11, 4, 13, 6, 15, 8, 1, 10, 3, 12, //
+      6, 11, 3, 7, 0, 13, 5, 10, 14, 15, 8, 12, 4, 9, 1, 2, //
+      15, 5, 1, 3, 7, 14, 6, 9, 11, 8, 12, 2, 10, 0, 4, 13, //
+      8, 6, 4, 1, 3, 11, 15, 0, 5, 12, 2, 13, 9, 7, 10, 14, //
+      12, 15, 10, 4, 1, 5, 8, 7, 6, 2, 13, 14, 0, 3, 9, 11, };
+  private static final int[] S = { // the rotation of each step of the left line
+      11, 14, 15, 12, 5, 8, 7, 9, 11, 13, 14, 15, 6, 7, 9, 8, //
+      7, 6, 8, 13, 11, 9, 7, 15, 7, 12, 15, 9, 11, 7, 13, 12, //
+      11, 13, 6, 7, 14, 9, 13, 15, 14, 8, 13, 6, 5, 12, 7, 5, //
+      11, 12, 14, 15, 14, 15, 9, 8, 9, 14, 5, 6, 8, 6, 5, 12, //
+      9, 15, 5, 11, 6, 8, 13, 12, 5, 12, 13, 14, 11, 8, 5, 6, };
+  private static final int[] SR = { // the rotation of each step of the right line
+      8, 9, 9, 11, 13, 15, 15, 5, 7, 7, 8, 11, 14, 14, 12, 6, //
+      9, 13, 15, 7, 12, 8, 9, 11, 7, 7, 12, 7, 6, 15, 13, 11, //
+      9, 7, 15, 11, 8, 6, 6, 14, 12, 13, 5, 14, 13, 13, 7, 5, //
+      15, 5, 8, 11, 14, 14, 6, 14, 6, 9, 12, 9, 12, 5, 15, 8, //
+      8, 5, 12, 9, 12, 5, 14, 6, 8, 13, 6, 5, 15, 13, 11, 11, };
+  private static final int[] K = { 0x00000000, 0x5a827999, 0x6ed9eba1, 0x8f1bbcdc, 0xa953fd4e, };
+  private static final int[] KR = { 0x50a28be6, 0x5c4dd124, 0x6d703ef3, 0x7a6d76e9, 0x00000000, };
+  private static final int[] IV = { 0x67452301, 0xefcdab89, 0x98badcfe, 0x10325476, 0xc3d2e1f0, };
+
+  /**
+   * The boolean function of the given round, 0 to 4. The right line uses the rounds in reverse order.
+   */
+  private static int f(final int round, final int x, final int y, final int z) {
+    switch (round) {
+      case 0:
+        return x ^ y ^ z;
+      case 1:
+        return (x & y) | (~x & z);
+      case 2:
+        return (x | ~y) ^ z;
+      case 3:
+        return (x & z) | (y & ~z);
+      default:
+        return x ^ (y | ~z);
+    }
+  }
+
+  private final int[] state = new int[5];
+  private final int[] x = new int[16]; // the message block as little-endian words
+
+  /**
+   * Computes the RIPEMD-160 of the given range of input into output.
+   * @param input the data to hash
+   * @param offset the index of the first byte to hash
+   * @param length the number of bytes to hash
+   * @param output receives the 20 byte digest
+   * @param outputOffset the index in output of the first byte of the digest
+   */
+  void hash(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+    final int[] x = this.x;
+    System.arraycopy(Ripemd160.IV, 0, this.state, 0, 5);
+    int index = offset;
+    final int end = offset + length;
+    for (; (end - index) >= 64; index += 64) { // the full blocks
+      for (int i = 0; i < 16; i++) {
+        final int at = index + (i * 4);
+        x[i] = (input[at] & 0xff) | ((input[at + 1] & 0xff) << 8) | ((input[at + 2] & 0xff) << 16) | ((input[at + 3] & 0xff) << 24);
+      }
+      this.compress();
+    }
+    // the final block, or two if the remaining bytes leave no room for the length
+    final int remaining = end - index;
+    for (int i = 0; i < 16; i++) {
+      x[i] = 0;
+    }
+    for (int i = 0; i < remaining; i++) {
+      x[i >>> 2] |= (input[index + i] & 0xff) << ((i & 3) * 8);
+    }
+    x[remaining >>> 2] |= 0x80 << ((remaining & 3) * 8);
+    if (remaining >= 56) {
+      this.compress();
+      for (int i = 0; i < 16; i++) {
+        x[i] = 0;
+      }
+    }
+    final long bits = length * 8L;
+    x[14] = (int) bits;
+    x[15] = (int) (bits >>> 32);
+    this.compress();
+    for (int i = 0; i < 5; i++) {
+      final int value = this.state[i];
+      final int at = outputOffset + (i * 4);
+      output[at] = (byte) value;
+      output[at + 1] = (byte) (value >>> 8);
+      output[at + 2] = (byte) (value >>> 16);
+      output[at + 3] = (byte) (value >>> 24);
+    }
+  }
+
+  /**
+   * Compresses the message block into the state, running the left and right lines side by side.
+   */
+  private void compress() {
+    final int[] x = this.x;
+    final int[] state = this.state;
+    int a = state[0];
+    int b = state[1];
+    int c = state[2];
+    int d = state[3];
+    int e = state[4];
+    int ar = a;
+    int br = b;
+    int cr = c;
+    int dr = d;
+    int er = e;
+    for (int j = 0; j < 80; j++) {
+      final int round = j >>> 4;
+      int t = Integer.rotateLeft(a + Ripemd160.f(round, b, c, d) + x[Ripemd160.R[j]] + Ripemd160.K[round], Ripemd160.S[j]) + e;
+      a = e;
+      e = d;
+      d = Integer.rotateLeft(c, 10);
+      c = b;
+      b = t;
+      t = Integer.rotateLeft(ar + Ripemd160.f(4 - round, br, cr, dr) + x[Ripemd160.RR[j]] + Ripemd160.KR[round], Ripemd160.SR[j]) + er;
+      ar = er;
+      er = dr;
+      dr = Integer.rotateLeft(cr, 10);
+      cr = br;
+      br = t;
+    }
+    final int t = state[1] + c + dr;
+    state[1] = state[2] + d + er;
+    state[2] = state[3] + e + ar;
+    state[3] = state[4] + a + br;
+    state[4] = state[0] + b + cr;
+    state[0] = t;
+  }
+}
@@ -15,6 +15,22 @@ public final class SegwitAddress {
   // this is not the limit followed in the Bech32 class so that applications besides encoding segwit addresses can be supported
   public static final int MAX_LENGTH = Bech32.MAX_HRP_LENGTH + Bech32.SEPARATOR_LENGTH + Bech32.CHECKSUM_LENGTH;
 
+  /**
+   * Derives the version 0 P2WPKH address of a public key.
+   * @param humanReadablePart application specific human readable part of the address; see {@link #of(String, int, byte[])}
+   * @param publicKey a serialized compressed secp256k1 public key; must not be null, must be 33 bytes long with prefix
+   * 0x02 or 0x03, as BIP 143 only allows compressed keys in P2WPKH
+   * @return the P2WPKH SegwitAddress of publicKey
+   * @throws NullPointerException if humanReadablePart or publicKey are null
+   * @throws IllegalArgumentException if publicKey length or prefix is invalid, or if humanReadablePart is invalid
+   */
+  public static SegwitAddress fromPublicKey(final String humanReadablePart, final byte[] publicKey) {
+    Objects.requireNonNull(publicKey, "publicKey must not be null");
+    Util.check(publicKey.length == 33, "publicKey length invalid");
+    Util.check((publicKey[0] == 0x02) || (publicKey[0] == 0x03), "publicKey prefix invalid");
+    return SegwitAddress.of(humanReadablePart, 0, Util.hash160(publicKey));
+  }
+
   /**
    * @param humanReadablePart application specific human readable part of the address; must not be null, must be of length [1, 83], each element must be in the range [33, 126], must not contain any upper case letters
    * @param version the witness version, must be in the range [0, 16]
@@ -32,11 +48,11 @@ public final class SegwitAddress {
     Util.check((2 <= program.length) && (program.length <= 40), "program length invalid");
     Util.check((version != 0) || (program.length == 20 /* v0 p2wpkh */) || (program.length == 32 /* v0 p2wsh */), "program length invalid for version 0");
     final byte[] program8 = program.clone(); // make a defensive copy after the length has been sanity checked. the 8 denotes 8 data bits per element.
-    final byte[] program5 = Bech32.convert8to5(program8); // the 5 denotes 5 data bits per element.
-    final byte[] data5 = Util.concat(version, program5); // each element contains 5 bits of data
+    final byte[] data5 = Bech32.convert8to5(program8, 1); // the version followed by the program. the 5 denotes 5 data bits per element.
+    data5[0] = (byte) version;
     Util.check(humanReadablePart.length() <= (SegwitAddress.MAX_LENGTH - Bech32.CHECKSUM_LENGTH - data5.length - Bech32.SEPARATOR_LENGTH), "humanReadablePart length invalid");
     final var variant = (version == 0) ? Bech32.Variant.BECH32 : Bech32.Variant.BECH32M;
-    final var bech32 = Bech32.encode(humanReadablePart, data5, variant); // humanReadablePart is validated further within
+    final var bech32 = Bech32.encodeOwned(humanReadablePart, data5, variant); // humanReadablePart is validated further within
     return new SegwitAddress(bech32, version, program8);
   }
 
@@ -0,0 +1,149 @@
+package com.github.btclib;
+
+/**
+ * A double SHA-256 engine that hashes up to {@link #LANES} independent messages at once. The state and message
+ * schedule of each message are a lane of arrays laid out word by word, and every step of a round loops over the lanes,
+ * a form that the JIT compiler can vectorize. Messages of different lengths share the rounds of their longest member,
+ * a lane that has no more blocks is masked out of the state update. An instance is not thread safe.
+ */
+final class Sha256dLanes {
+  static final int LANES = 16;
+
+  private final int[] state = new int[8 * Sha256dLanes.LANES]; // word i of lane l at i * LANES + l
+  private final int[] w = new int[64 * Sha256dLanes.LANES]; // the message schedules, laid out as the state
+  private final int[] mask = new int[Sha256dLanes.LANES]; // -1 for the lanes that update their state, 0 for the others
+  private final int[] v = new int[8 * Sha256dLanes.LANES];
+
+  /**
+   * Computes the double SHA-256 of each of the given messages into output.
+   * @param inputs the messages to hash, from index 0 to their length
+   * @param count the number of messages, in [1, LANES]
+   * @param output receives the 32 byte digest of message i at index i * 32
+   */
+  void hash(final byte[][] inputs, final int count, final byte[] output) {
+    assert (0 < count) && (count <= Sha256dLanes.LANES);
+    final int lanes = Sha256dLanes.LANES;
+    final int[] state = this.state;
+    final int[] w = this.w;
+    int blocks = 0;
+    for (int l = 0; l < count; l++) {
+      blocks = Math.max(blocks, Sha256dLanes.blocks(inputs[l].length));
+    }
+    for (int i = 0; i < 8; i++) {
+      for (int l = 0; l < lanes; l++) {
+        state[(i * lanes) + l] = Sha256d.IV[i];
+      }
+    }
+    for (int block = 0; block < blocks; block++) {
+      for (int l = 0; l < lanes; l++) {
+        final boolean active = (l < count) && (block < Sha256dLanes.blocks(inputs[l].length));
+        this.mask[l] = active ? -1 : 0;
+        if (active) {
+          Sha256dLanes.load(inputs[l], block, w, l);
+        }
+      }
+      this.compress();
+    }
+    // the second pass hashes the 32 byte digests, a single block with fixed padding
+    System.arraycopy(state, 0, w, 0, 8 * lanes);
+    for (int l = 0; l < lanes; l++) {
+      w[(8 * lanes) + l] = 0x80000000;
+      for (int i = 9; i < 15; i++) {
+        w[(i * lanes) + l] = 0;
+      }
+      w[(15 * lanes) + l] = 256;
+      this.mask[l] = -1;
+    }
+    for (int i = 0; i < 8; i++) {
+      for (int l = 0; l < lanes; l++) {
+        state[(i * lanes) + l] = Sha256d.IV[i];
+      }
+    }
+    this.compress();
+    for (int l = 0; l < count; l++) {
+      for (int i = 0; i < 8; i++) {
+        final int value = state[(i * lanes) + l];
+        final int at = (l * 32) + (i * 4);
+        output[at] = (byte) (value >>> 24);
+        output[at + 1] = (byte) (value >>> 16);
+        output[at + 2] = (byte) (value >>> 8);
+        output[at + 3] = (byte) value;
+      }
+    }
+  }
+
+  /**
+   * @return the number of blocks of a padded message of the given length
+   */
+  private static int blocks(final int length) {
+    return ((length + 8) / 64) + 1; // the padding is at least one byte of 0x80 and the eight byte length
+  }
+
+  /**
+   * Loads the given block of the padded message into the first 16 words of the message schedule of the given lane.
+   */
+  private static void load(final byte[] input, final int block, final int[] w, final int lane) {
+    final int lanes = Sha256dLanes.LANES;
+    final int start = block * 64;
+    for (int i = 0; i < 16; i++) {
+      w[(i * lanes) + lane] = 0;
+    }
+    final int end = Math.min(input.length, start + 64);
+    for (int i = start; i < end; i++) {
+      w[(((i - start) >>> 2) * lanes) + lane] |= (input[i] & 0xff) << (24 - ((i & 3) * 8));
+    }
+    if ((input.length >= start) && (input.length < (start + 64))) {
+      final int i = input.length - start;
+      w[((i >>> 2) * lanes) + lane] |= 0x80 << (24 - ((i & 3) * 8));
+    }
+    if (block == (Sha256dLanes.blocks(input.length) - 1)) {
+      final long bits = input.length * 8L;
+      w[(14 * lanes) + lane] = (int) (bits >>> 32);
+      w[(15 * lanes) + lane] = (int) bits;
+    }
+  }
+
+  /**
+   * Expands the first 16 words of each message schedule and compresses them into the state of the unmasked lanes.
+   */
+  private void compress() {
+    final int lanes = Sha256dLanes.LANES;
+    final int[] state = this.state;
+    final int[] w = this.w;
+    for (int i = 16 * lanes; i < (64 * lanes); i++) {
+      final int w15 = w[i - (15 * lanes)];
+      final int w2 = w[i - (2 * lanes)];
+      w[i] = w[i - (16 * lanes)] + (Integer.rotateRight(w15, 7) ^ Integer.rotateRight(w15, 18) ^ (w15 >>> 3)) + w[i - (7 * lanes)] + (Integer.rotateRight(w2, 17) ^ Integer.rotateRight(w2, 19) ^ (w2 >>> 10));
+    }
+    final int[] v = this.v; // the working variables a to h of each lane, laid out as the state
+    System.arraycopy(state, 0, v, 0, 8 * lanes);
+    for (int round = 0; round < 64; round++) {
+      final int k = Sha256d.K[round];
+      final int base = round * lanes;
+      for (int l = 0; l < lanes; l++) {
+        final int a = v[l];
+        final int b = v[lanes + l];
+        final int c = v[(2 * lanes) + l];
+        final int d = v[(3 * lanes) + l];
+        final int e = v[(4 * lanes) + l];
+        final int f = v[(5 * lanes) + l];
+        final int g = v[(6 * lanes) + l];
+        final int h = v[(7 * lanes) + l];
+        final int t1 = h + (Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25)) + (g ^ (e & (f ^ g))) + k + w[base + l];
+        final int t2 = (Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22)) + ((a & b) | (c & (a | b)));
+        v[l] = t1 + t2;
+        v[lanes + l] = a;
+        v[(2 * lanes) + l] = b;
+        v[(3 * lanes) + l] = c;
+        v[(4 * lanes) + l] = d + t1;
+        v[(5 * lanes) + l] = e;
+        v[(6 * lanes) + l] = f;
+        v[(7 * lanes) + l] = g;
+      }
+    }
+    final int[] mask = this.mask;
+    for (int i = 0; i < (8 * lanes); i++) {
+      state[i] += v[i] & mask[i % lanes];
+    }
+  }
+}
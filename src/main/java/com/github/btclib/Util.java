@@ -1,11 +1,99 @@
 package com.github.btclib;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Util {
+  /**
+   * Per-thread digest state, so that hashing in steady state takes no locks and allocates nothing beyond its result.
+   * The state of a new thread, such as a short lived virtual thread, is cloned from a prototype rather than looked up
+   * through the security providers, which synchronize.
+   */
+  private static final class Digests {
+    private final MessageDigest sha256 = Util.newSha256();
+    private final Sha256d sha256d = new Sha256d();
+    private final Ripemd160 ripemd160 = new Ripemd160();
+    private final byte[] hash = new byte[32];
+
+    private int checksum(final byte[] input, final int offset, final int length) {
+      if (length < Sha256d.THRESHOLD) {
+        this.sha256d.hash(input, offset, length, this.hash, 0);
+      } else {
+        try {
+          this.sha256.update(input, offset, length);
+          this.sha256.digest(this.hash, 0, this.hash.length);
+          this.sha256.update(this.hash, 0, this.hash.length);
+          this.sha256.digest(this.hash, 0, this.hash.length);
+        } catch (final DigestException e) {
+          throw new AssertionError("hash buffer is large enough");
+        }
+      }
+      return ((this.hash[0] & 0xff) << 24) | ((this.hash[1] & 0xff) << 16) | ((this.hash[2] & 0xff) << 8) | (this.hash[3] & 0xff);
+    }
+
+    private void hash160(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+      try {
+        this.sha256.update(input, offset, length);
+        this.sha256.digest(this.hash, 0, this.hash.length);
+      } catch (final DigestException e) {
+        throw new AssertionError("hash buffer is large enough");
+      }
+      this.ripemd160.hash(this.hash, 0, this.hash.length, output, outputOffset);
+    }
+
+    private byte[] sha256d(final byte[]... input) {
+      for (final var element : input) {
+        this.sha256.update(element);
+      }
+      return this.sha256.digest(this.sha256.digest());
+    }
+  }
+
+  // the digest that new digests are cloned from. it is never updated, so that threads can share it.
+  private static final MessageDigest SHA256_PROTOTYPE;
+  static {
+    try {
+      SHA256_PROTOTYPE = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is a required algorithm");
+    }
+  }
+
+  private static final ThreadLocal<Digests> DIGESTS = ThreadLocal.withInitial(Digests::new);
+  // the SHA-256 midstate of each tag, a digest that has absorbed the 64 byte prefix sha256(tag) || sha256(tag).
+  // these are never updated once cached, only cloned, so that they can be shared by threads. seeded with the BIP 340
+  // and BIP 341 tags and filled on first use. the tag may come from the caller, so the cache stops growing at
+  // MAX_TAGGED_MIDSTATES entries and the midstate of any other tag is computed each time.
+  private static final int MAX_TAGGED_MIDSTATES = 64;
+  private static final ConcurrentHashMap<String, MessageDigest> TAGGED_MIDSTATES = new ConcurrentHashMap<>();
+  static {
+    for (final String tag : new String[] { "BIP0340/aux", "BIP0340/nonce", "BIP0340/challenge", "TapLeaf", "TapBranch", "TapTweak", "TapSighash", }) {
+      Util.TAGGED_MIDSTATES.put(tag, Util.midstate(tag));
+    }
+  }
   public static final byte[] EMPTY_BYTE_ARRAY = {};
+  // the hex codec tables. HEX_PAIRS holds the two lower case US-ASCII digits of each byte value, HEX_VALUES the value
+  // of each US-ASCII hex digit, or -1.
+  private static final byte[] HEX_PAIRS = new byte[512];
+  private static final byte[] HEX_VALUES = new byte[128];
+  static {
+    final byte[] digits = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    for (int i = 0; i < 256; i++) {
+      Util.HEX_PAIRS[2 * i] = digits[i >>> 4];
+      Util.HEX_PAIRS[(2 * i) + 1] = digits[i & 0xf];
+    }
+    Arrays.fill(Util.HEX_VALUES, (byte) -1);
+    for (int i = 0; i < 16; i++) {
+      Util.HEX_VALUES[digits[i]] = (byte) i;
+      Util.HEX_VALUES[Character.toUpperCase(digits[i])] = (byte) i;
+    }
+  }
 
   /**
    * @param input
@@ -18,6 +106,30 @@ public final class Util {
     }
   }
 
+  /**
+   * Computes the "Base58 Check" checksum of a slice, the first four bytes of its double SHA-256, without allocating.
+   * @param input the array that holds the slice
+   * @param offset the index of the first byte of the slice
+   * @param length the number of bytes in the slice
+   * @return the checksum as a big-endian int
+   * @throws NullPointerException if input is null
+   * @throws IllegalArgumentException if offset or length is not within input
+   */
+  public static int checksum(final byte[] input, final int offset, final int length) {
+    Objects.requireNonNull(input, "input must not be null");
+    Util.check((0 <= offset) && (offset <= input.length), "offset invalid");
+    Util.check((0 <= length) && (length <= (input.length - offset)), "length invalid");
+    return Util.DIGESTS.get().checksum(input, offset, length);
+  }
+
+  private static MessageDigest clone(final MessageDigest digest) {
+    try {
+      return (MessageDigest) digest.clone();
+    } catch (final CloneNotSupportedException e) {
+      throw new AssertionError("the SHA-256 digest of the JDK is cloneable");
+    }
+  }
+
   /**
    * @param input
    * @return an array that is a combined copy of all of the elements of the arrays passed in
@@ -35,11 +147,7 @@ public final class Util {
       }
     }
     final var result = new byte[(int) size];
-    int offset = 0;
-    for (final var element : input) {
-      System.arraycopy(element, 0, result, offset, element.length);
-      offset += element.length;
-    }
+    Util.gather(result, 0, input);
     return result;
   }
 
@@ -51,7 +159,128 @@ public final class Util {
    */
   public static byte[] concat(final int prefix, final byte[] input) {
     Objects.requireNonNull(input, "input must not be null");
-    return Util.concat(new byte[] { (byte) prefix, }, input);
+    final var result = new byte[input.length + 1];
+    result[0] = (byte) prefix;
+    Util.gather(result, 1, input);
+    return result;
+  }
+
+  /**
+   * Decodes hex digits, upper or lower case, into a caller buffer.
+   * @param input the hex digits. Must not be null. Must be even in length.
+   * @param output the array that receives the decoded bytes. Must not be null.
+   * @param outputOffset the index in output of the first decoded byte
+   * @return the number of decoded bytes, input.length() / 2
+   * @throws NullPointerException if input or output is null
+   * @throws IllegalArgumentException if input length is odd, if output is too small, or if input contains a character
+   * that is not a hex digit, in which case the bytes before it may have been written
+   */
+  public static int decodeHex(final CharSequence input, final byte[] output, final int outputOffset) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((input.length() % 2) == 0, "input length must be even");
+    Util.check((0 <= outputOffset) && (outputOffset <= output.length), "outputOffset invalid");
+    final int length = input.length() / 2;
+    Util.check((output.length - outputOffset) >= length, "output too small");
+    for (int i = 0, j = outputOffset; i < length; i++, j++) {
+      output[j] = (byte) Util.decodeHexPair(input.charAt(2 * i), input.charAt((2 * i) + 1));
+    }
+    return length;
+  }
+
+  /**
+   * Decodes the remaining US-ASCII hex digits of input into output, advancing the position of both.
+   * @param input the hex digits, one per byte. Must not be null. Must have an even number of bytes remaining.
+   * @param output the buffer that receives the decoded bytes. Must not be null.
+   * @return the number of decoded bytes
+   * @throws NullPointerException if input or output is null
+   * @throws IllegalArgumentException if input has an odd number of bytes remaining, if output is too small, or if
+   * input contains a byte that is not a hex digit, in which case neither position is advanced but the bytes before it
+   * may have been written
+   * @throws java.nio.ReadOnlyBufferException if output is read-only
+   */
+  public static int decodeHex(final ByteBuffer input, final ByteBuffer output) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((input.remaining() % 2) == 0, "input length must be even");
+    final int length = input.remaining() / 2;
+    Util.check(output.remaining() >= length, "output too small");
+    final int from = input.position();
+    final int to = output.position();
+    for (int i = 0; i < length; i++) { // absolute gets and puts, so that a failure advances neither position
+      output.put(to + i, (byte) Util.decodeHexPair(input.get(from + (2 * i)) & 0xff, input.get(from + (2 * i) + 1) & 0xff));
+    }
+    input.position(from + (2 * length));
+    output.position(to + length);
+    return length;
+  }
+
+  /**
+   * @return the byte value of the two given hex digits
+   * @throws IllegalArgumentException if either is not a hex digit
+   */
+  private static int decodeHexPair(final int hi, final int lo) {
+    Util.check((hi | lo) < Util.HEX_VALUES.length, "input invalid");
+    final int value = (Util.HEX_VALUES[hi] << 4) | Util.HEX_VALUES[lo]; // negative if either is -1
+    Util.check(value >= 0, "input invalid");
+    return value;
+  }
+
+  /**
+   * Encodes bytes into lower case US-ASCII hex digits in a caller buffer, two per byte.
+   * @param input the array that holds the bytes to encode. Must not be null.
+   * @param offset the index of the first byte to encode
+   * @param length the number of bytes to encode
+   * @param output the array that receives the hex digits. Must not be null.
+   * @param outputOffset the index in output of the first hex digit
+   * @return the number of hex digits written, length * 2
+   * @throws NullPointerException if input or output is null
+   * @throws IllegalArgumentException if the bytes are not within input, or if output is too small
+   */
+  public static int encodeHex(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((0 <= offset) && (offset <= input.length), "offset invalid");
+    Util.check((0 <= length) && (length <= (input.length - offset)), "length invalid");
+    Util.check((0 <= outputOffset) && (outputOffset <= output.length), "outputOffset invalid");
+    Util.check(((output.length - outputOffset) / 2) >= length, "output too small");
+    final byte[] pairs = Util.HEX_PAIRS;
+    for (int i = offset, j = outputOffset; i < (offset + length); i++, j += 2) {
+      final int at = (input[i] & 0xff) << 1;
+      output[j] = pairs[at];
+      output[j + 1] = pairs[at + 1];
+    }
+    return length * 2;
+  }
+
+  /**
+   * Encodes the remaining bytes of input into lower case US-ASCII hex digits in output, advancing the position of both.
+   * @param input the bytes to encode. Must not be null.
+   * @param output the buffer that receives the hex digits, two per byte. Must not be null.
+   * @return the number of hex digits written
+   * @throws NullPointerException if input or output is null
+   * @throws IllegalArgumentException if output is too small
+   * @throws java.nio.ReadOnlyBufferException if output is read-only, in which case neither position is advanced
+   */
+  public static int encodeHex(final ByteBuffer input, final ByteBuffer output) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    final int length = input.remaining();
+    Util.check((output.remaining() / 2) >= length, "output too small");
+    final int from = input.position();
+    final int to = output.position();
+    if (input.hasArray() && output.hasArray()) { // heap buffers take the array path
+      Util.encodeHex(input.array(), input.arrayOffset() + from, length, output.array(), output.arrayOffset() + to);
+    } else {
+      final byte[] pairs = Util.HEX_PAIRS;
+      for (int i = 0; i < length; i++) { // absolute gets and puts, so that a failure advances neither position
+        final int at = (input.get(from + i) & 0xff) << 1;
+        output.put(to + (2 * i), pairs[at]).put(to + (2 * i) + 1, pairs[at + 1]);
+      }
+    }
+    input.position(from + length);
+    output.position(to + (length * 2));
+    return length * 2;
   }
 
   /**
@@ -75,30 +304,110 @@ public final class Util {
     Objects.requireNonNull(input, "input must not be null");
     Util.check((input.length() % 2) == 0, "input length must be even");
     final var result = new byte[input.length() / 2];
-    for (int i = 0; i < (input.length() - 1); i += 2) {
-      final int hiNibble = Util.hexToDecimal(input.charAt(i)) << 4;
-      final int loNibble = Util.hexToDecimal(input.charAt(i + 1));
-      result[i / 2] = (byte) (hiNibble | loNibble);
+    Util.decodeHex(input, result, 0);
+    return result;
+  }
+
+  /**
+   * Writes the given segments one after the other into a caller buffer, copying each once. Encoders assemble their
+   * output with this instead of concatenating intermediate arrays.
+   * @param output the array that receives the segments. Must not be null.
+   * @param offset the index in output of the first byte of the first segment
+   * @param input the segments. Must not be null. Must not contain null.
+   * @return the index in output after the last byte of the last segment
+   * @throws NullPointerException if output or input is null, or if input contains null
+   * @throws IllegalArgumentException if offset is not within output, or if output is too small
+   */
+  public static int gather(final byte[] output, final int offset, final byte[]... input) {
+    Objects.requireNonNull(output, "output must not be null");
+    Objects.requireNonNull(input, "input must not be null");
+    Util.check((0 <= offset) && (offset <= output.length), "offset invalid");
+    int remaining = output.length - offset;
+    for (final var element : input) {
+      Objects.requireNonNull(element, "element must not be null");
+      remaining -= element.length; // cannot overflow, both are in [0, Integer.MAX_VALUE]
+      Util.check(remaining >= 0, "output too small");
     }
+    int index = offset;
+    for (final var element : input) {
+      System.arraycopy(element, 0, output, index, element.length);
+      index += element.length;
+    }
+    return index;
+  }
+
+  /**
+   * Computes the hash160, RIPEMD-160 of SHA-256, that P2PKH and P2WPKH addresses commit to.
+   * @param input the data to hash, such as a serialized public key. Must not be null.
+   * @return the 20 byte hash160 of input
+   * @throws NullPointerException if input is null
+   */
+  public static byte[] hash160(final byte[] input) {
+    Objects.requireNonNull(input, "input must not be null");
+    final byte[] result = new byte[20];
+    Util.DIGESTS.get().hash160(input, 0, input.length, result, 0);
     return result;
   }
 
+  /**
+   * Computes the hash160 of a slice into a caller buffer, without allocating in steady state.
+   * @param input the array that holds the slice
+   * @param offset the index of the first byte of the slice
+   * @param length the number of bytes in the slice
+   * @param output the array that receives the 20 byte hash160
+   * @param outputOffset the index in output of the first byte of the hash160
+   * @throws NullPointerException if input or output is null
+   * @throws IllegalArgumentException if the slice is not within input, or if output is too small
+   */
+  public static void hash160(final byte[] input, final int offset, final int length, final byte[] output, final int outputOffset) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((0 <= offset) && (offset <= input.length), "offset invalid");
+    Util.check((0 <= length) && (length <= (input.length - offset)), "length invalid");
+    Util.check((0 <= outputOffset) && (outputOffset <= output.length), "outputOffset invalid");
+    Util.check((output.length - outputOffset) >= 20, "output too small");
+    Util.DIGESTS.get().hash160(input, offset, length, output, outputOffset);
+  }
+
+  /**
+   * Computes the hash160 of each element of input, sharing the digest state of the current thread across the batch.
+   * @param input the data to hash. Must not be null. Must not contain null.
+   * @param output the array that receives the 20 byte hash160 of element i at index i * 20. Must not be null. Must be
+   * at least input.length * 20 in length.
+   * @throws NullPointerException if input or output is null, or if input contains null
+   * @throws IllegalArgumentException if output is too small
+   */
+  public static void hash160All(final byte[][] input, final byte[] output) {
+    Objects.requireNonNull(input, "input must not be null");
+    Objects.requireNonNull(output, "output must not be null");
+    Util.check((output.length / 20) >= input.length, "output too small");
+    final Digests digests = Util.DIGESTS.get();
+    for (int i = 0; i < input.length; i++) {
+      Objects.requireNonNull(input[i], "element must not be null");
+      digests.hash160(input[i], 0, input[i].length, output, i * 20);
+    }
+  }
+
   /**
    * @param input
    * @return
    * @throws IllegalArgumentException
    */
   public static int hexToDecimal(final int input) {
-    if (('0' <= input) && (input <= '9')) {
-      return input - '0';
-    }
-    if (('a' <= input) && (input <= 'f')) {
-      return (input - 'a') + 10;
-    }
-    if (('A' <= input) && (input <= 'F')) {
-      return (input - 'A') + 10;
-    }
-    throw new IllegalArgumentException("input invalid");
+    Util.check((0 <= input) && (input < Util.HEX_VALUES.length) && (Util.HEX_VALUES[input] >= 0), "input invalid");
+    return Util.HEX_VALUES[input];
+  }
+
+  /**
+   * @param tag
+   * @return a new digest that has absorbed the 64 byte prefix sha256(tag) || sha256(tag)
+   */
+  private static MessageDigest midstate(final String tag) {
+    final var sha256 = Util.newSha256();
+    final byte[] tagHash = sha256.digest(tag.getBytes(StandardCharsets.UTF_8));
+    sha256.update(tagHash);
+    sha256.update(tagHash);
+    return sha256;
   }
 
   /**
@@ -119,6 +428,13 @@ public final class Util {
     return result.toString();
   }
 
+  /**
+   * @return a new SHA-256 digest, cloned from the prototype without a provider lookup
+   */
+  private static MessageDigest newSha256() {
+    return Util.clone(Util.SHA256_PROTOTYPE);
+  }
+
   /**
    * @param input
    * @return
@@ -126,19 +442,68 @@ public final class Util {
    */
   public static byte[] sha256d(final byte[]... input) {
     Objects.requireNonNull(input, "input must not be null");
-    try {
-      final var sha256 = MessageDigest.getInstance("SHA-256");
-      for (final var element : input) {
-        Objects.requireNonNull(element, "element must not be null");
-        sha256.update(element);
+    for (final var element : input) { // check before hashing, so that the digest of the thread is not left half updated
+      Objects.requireNonNull(element, "element must not be null");
+    }
+    return Util.DIGESTS.get().sha256d(input);
+  }
+
+  /**
+   * Computes the BIP340 tagged hash sha256(sha256(tag) || sha256(tag) || input). The state after the 64 byte prefix of
+   * each common tag is computed once and cached, so that each call starts from it and skips one compression.
+   * https://github.com/bitcoin/bips/blob/master/bip-0340.mediawiki#design
+   * @param tag the tag, such as "TapLeaf", "TapBranch", "TapTweak" or "BIP0340/challenge". Must not be null.
+   * @param input
+   * @return the 32 byte tagged hash of the concatenation of the elements of input
+   * @throws NullPointerException if tag, input or an element of input is null
+   */
+  public static byte[] taggedHash(final String tag, final byte[]... input) {
+    Objects.requireNonNull(tag, "tag must not be null");
+    Objects.requireNonNull(input, "input must not be null");
+    final MessageDigest cached = Util.TAGGED_MIDSTATES.get(tag);
+    final MessageDigest sha256;
+    if (cached != null) {
+      sha256 = Util.clone(cached);
+    } else {
+      sha256 = Util.midstate(tag);
+      if (Util.TAGGED_MIDSTATES.size() < Util.MAX_TAGGED_MIDSTATES) { // a soft bound, concurrent first uses may pass it slightly
+        Util.TAGGED_MIDSTATES.putIfAbsent(tag, Util.clone(sha256));
       }
-      return sha256.digest(sha256.digest());
-    } catch (final NoSuchAlgorithmException e) {
-      throw new AssertionError("SHA-256 is a required algorithm");
     }
+    for (final var element : input) {
+      Objects.requireNonNull(element, "element must not be null");
+      sha256.update(element);
+    }
+    return sha256.digest();
+  }
+
+  /**
+   * @param input the bytes to encode. Must not be null.
+   * @return the lower case hex digits of input, two per byte
+   * @throws NullPointerException if input is null
+   */
+  public static String toHexString(final byte[] input) {
+    Objects.requireNonNull(input, "input must not be null");
+    return Util.toHexString(input, 0, input.length);
+  }
+
+  /**
+   * @param input the array that holds the bytes to encode. Must not be null.
+   * @param offset the index of the first byte to encode
+   * @param length the number of bytes to encode
+   * @return the lower case hex digits of the bytes, two per byte
+   * @throws NullPointerException if input is null
+   * @throws IllegalArgumentException if the bytes are not within input
+   */
+  public static String toHexString(final byte[] input, final int offset, final int length) {
+    Objects.requireNonNull(input, "input must not be null");
+    Util.check((0 <= length) && (length <= (Integer.MAX_VALUE / 2)), "length invalid");
+    final byte[] result = new byte[length * 2];
+    Util.encodeHex(input, offset, length, result, 0);
+    return new String(result, StandardCharsets.US_ASCII);
   }
 
   private Util() {
     throw new AssertionError("suppress default constructor for noninstantiability");
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.github.btclib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Base58CheckRecoveryTest {
+  private static final String ALPHABET = Base58Codec.BITCOIN.getAlphabet();
+
+  /**
+   * @return the strings exactly one substitution, insertion, deletion or adjacent transposition away from data
+   */
+  private static Set<String> neighbors(final String data) {
+    final var result = new TreeSet<String>();
+    for (int i = 0; i <= data.length(); i++) {
+      for (final char symbol : Base58CheckRecoveryTest.ALPHABET.toCharArray()) {
+        result.add(data.substring(0, i) + symbol + data.substring(i));
+        if (i < data.length()) {
+          result.add(data.substring(0, i) + symbol + data.substring(i + 1));
+        }
+      }
+      if (i < data.length()) {
+        result.add(data.substring(0, i) + data.substring(i + 1));
+      }
+      if ((i + 1) < data.length()) {
+        result.add(data.substring(0, i) + data.charAt(i + 1) + data.charAt(i) + data.substring(i + 2));
+      }
+    }
+    return result;
+  }
+
+  private static List<String> reference(final String data, final int maxDistance) {
+    Set<String> candidates = new TreeSet<>(Set.of(data));
+    final var all = new TreeSet<>(candidates);
+    for (int distance = 0; distance < maxDistance; distance++) {
+      final var next = new TreeSet<String>();
+      for (final String candidate : candidates) {
+        next.addAll(Base58CheckRecoveryTest.neighbors(candidate));
+      }
+      all.addAll(next);
+      candidates = next;
+    }
+    final var result = new ArrayList<String>();
+    for (final String candidate : all) {
+      if (Base58Check.isValid(candidate)) {
+        result.add(candidate);
+      }
+    }
+    return result;
+  }
+
+  @Test
+  public void test_recover() {
+    final String address = "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH";
+    Assert.assertEquals(List.of(address), Base58CheckRecovery.recover(address, 0));
+    Assert.assertEquals(List.of(), Base58CheckRecovery.recover("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMJ", 0));
+    for (final String typo : new String[] { "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMJ", // substitution
+        "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAM", // deletion
+        "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMHH", // insertion
+        "1BgGZ9tcN4rm9KBzDn7KrpQz87SZ26SAMH", // transposition
+        "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SA0H", // a character not in the alphabet
+        "BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", }) { // a leading zero symbol deleted
+      final List<String> result = Base58CheckRecovery.recover(typo, 1);
+      Assert.assertTrue(typo, result.contains(address));
+      Assert.assertEquals(typo, Base58CheckRecoveryTest.reference(typo, 1), result);
+    }
+    for (final String data : new String[] { "1Wh4bh", "3QJmn", "11Wh4b", "VrZDWw", }) {
+      for (int distance = 0; distance <= 2; distance++) {
+        Assert.assertEquals(data + " " + distance, Base58CheckRecoveryTest.reference(data, distance), Base58CheckRecovery.recover(Base58Codec.BITCOIN, data, distance, ForkJoinPool.commonPool()));
+      }
+    }
+    final var pool = new ForkJoinPool(2);
+    try {
+      final String ripple = Base58Codec.RIPPLE.encodeChecked(new byte[21]);
+      Assert.assertTrue(Base58CheckRecovery.recover(Base58Codec.RIPPLE, ripple.substring(1), 1, pool).contains(ripple));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void test_recover_invalid() {
+    var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58CheckRecovery.recover(null, 1);
+    });
+    Assert.assertEquals("data must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58CheckRecovery.recover(null, "", 1, ForkJoinPool.commonPool());
+    });
+    Assert.assertEquals("codec must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58CheckRecovery.recover(Base58Codec.BITCOIN, "", 1, null);
+    });
+    Assert.assertEquals("pool must not be null", npe.getMessage());
+    var iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58CheckRecovery.recover(Util.multiply("1", Base58CheckRecovery.MAX_LENGTH + 1), 1);
+    });
+    Assert.assertEquals("data too long", iae.getMessage());
+    for (final int distance : new int[] { -1, Base58CheckRecovery.MAX_DISTANCE + 1, }) {
+      iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Base58CheckRecovery.recover("", distance);
+      });
+      Assert.assertEquals("maxDistance invalid", iae.getMessage());
+    }
+  }
+}
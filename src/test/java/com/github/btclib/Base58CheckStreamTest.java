@@ -0,0 +1,100 @@
+package com.github.btclib;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Base58CheckStreamTest {
+  private static final String INPUT = String.join("\n", //
+      "1QLbz7JHiBTspS962RLKV8GndWFwi5j6Qr", // line 1
+      "37Sp6Rv3y4kVd1nQ1JV5pfqXccHNyZm1x3\r", // line 2, windows line ending
+      "", // line 3, skipped
+      "37Sp6Rv3y4kVd1nQ1JV5pfqXccHNyZm1x4", // line 4
+      "01Wh4bh", // line 5
+      "1Wh4b😎", // line 6
+      Util.multiply("1", 5601), // line 7
+      "\r", // line 8, skipped
+      "121", // line 9
+      Base58Check.encode(Util.fromHexString(Util.multiply("ff", 4096))), // line 10
+      "3QJmnh"); // line 11, no line ending
+  private static final List<String> EXPECTED = List.of( //
+      "1 0 00ffffffffffffffffffffffffffffffffffffffff", //
+      "2 0 053f210e7277c899c3a155cc1c90f4106cbddeec6e", //
+      "4 3 ", //
+      "5 1 ", //
+      "6 1 ", //
+      "7 4 ", //
+      "9 2 ", //
+      "10 0 " + Util.multiply("ff", 4096), //
+      "11 0 ");
+
+  private static List<String> collect(final Decoder decoder) throws IOException {
+    final var results = new ArrayList<String>();
+    final long lines = decoder.decode((line, status, payload) -> {
+      final byte[] bytes = new byte[payload.remaining()];
+      payload.get(bytes);
+      results.add(line + " " + status + " " + HexFormat.of().formatHex(bytes));
+    });
+    Assert.assertEquals(results.size(), lines);
+    return results;
+  }
+
+  @FunctionalInterface
+  private interface Decoder {
+    long decode(Base58CheckStream.Handler handler) throws IOException;
+  }
+
+  @Test
+  public void test_channel() throws IOException {
+    final byte[] bytes = Base58CheckStreamTest.INPUT.getBytes(StandardCharsets.UTF_8);
+    Assert.assertEquals(Base58CheckStreamTest.EXPECTED, Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(Channels.newChannel(new ByteArrayInputStream(bytes)), handler)));
+    Assert.assertEquals(List.of(), Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(Channels.newChannel(new ByteArrayInputStream(new byte[0])), handler)));
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58CheckStream.decode(Channels.newChannel(new ByteArrayInputStream(bytes)), null);
+    });
+    Assert.assertEquals("handler must not be null", npe.getMessage());
+  }
+
+  @Test
+  public void test_file() throws IOException {
+    final var file = Files.createTempFile("base58check", ".txt");
+    try {
+      Files.writeString(file, Base58CheckStreamTest.INPUT + "\n");
+      Assert.assertEquals(Base58CheckStreamTest.EXPECTED, Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(file, handler)));
+      final var repeated = new ArrayList<String>(); // lines that straddle the chunks in which mapped regions are read
+      for (int i = 0; i < 20; i++) {
+        for (final String expected : Base58CheckStreamTest.EXPECTED) {
+          final int space = expected.indexOf(' ');
+          repeated.add((Long.parseLong(expected.substring(0, space)) + (11 * i)) + expected.substring(space));
+        }
+      }
+      Files.writeString(file, Util.multiply(Base58CheckStreamTest.INPUT + "\n", 20));
+      Assert.assertTrue(Files.size(file) > (3 << 16));
+      Assert.assertEquals(repeated, Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(file, handler)));
+      Files.writeString(file, "");
+      Assert.assertEquals(List.of(), Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(file, handler)));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void test_reader() throws IOException {
+    Assert.assertEquals(Base58CheckStreamTest.EXPECTED, Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(new StringReader(Base58CheckStreamTest.INPUT), handler)));
+    Assert.assertEquals(List.of("1 0 00", "3 0 00"), Base58CheckStreamTest.collect((handler) -> Base58CheckStream.decode(new StringReader("1Wh4bh\n\n1Wh4bh\n"), handler)));
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58CheckStream.decode((Reader) null, (line, status, payload) -> {});
+    });
+    Assert.assertEquals("reader must not be null", npe.getMessage());
+  }
+}
@@ -1,14 +1,69 @@
 package com.github.btclib;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 public class Base58CheckTest {
+  @Test
+  public void test_cost() {
+    for (final int length : new int[] { -1, 5601, Integer.MIN_VALUE, Integer.MAX_VALUE, }) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Base58Check.decodeCost(length);
+      });
+      Assert.assertEquals("length invalid", e.getMessage());
+    }
+    for (final int length : new int[] { -1, 4097, Integer.MIN_VALUE, Integer.MAX_VALUE, }) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Base58Check.encodeCost(length);
+      });
+      Assert.assertEquals("length invalid", e.getMessage());
+    }
+    long previous = 0;
+    for (int length = 0; length <= 5600; length++) {
+      final long cost = Base58Check.decodeCost(length);
+      Assert.assertTrue(Integer.toString(length), previous <= cost);
+      previous = cost;
+    }
+    previous = 0;
+    for (int length = 0; length <= 4096; length++) {
+      final long cost = Base58Check.encodeCost(length);
+      Assert.assertTrue(Integer.toString(length), previous <= cost);
+      previous = cost;
+    }
+    // up to the split threshold the model counts the iterations of the limb conversion, one per five symbol chunk of
+    // the input and 32-bit word of the output
+    final int threshold = Base58Limbs.SPLIT_THRESHOLD;
+    for (final int length : new int[] { 0, 1, 5, 34, 111, 112, threshold / 2, threshold, }) {
+      Assert.assertEquals(Integer.toString(length), ((length + 4) / 5) * (((length * 3L) / 16) + 2), Base58Check.decodeCost(length));
+    }
+    // so it grows quadratically there, about four times for twice the length
+    Assert.assertTrue(Base58Check.decodeCost(threshold) > ((7 * Base58Check.decodeCost(threshold / 2)) / 2));
+    // one symbol past the threshold adds a one symbol leaf and the product that joins it to the rest
+    Assert.assertEquals(Base58Check.decodeCost(1) + (Base58Check.decodeCost(1) * (((threshold * 3L) / 16) + 2)), Base58Check.decodeCost(threshold + 1) - Base58Check.decodeCost(threshold));
+    // and beyond it the divide-and-conquer conversion grows subquadratically, below four times for twice the length.
+    // the joining products are Karatsuba sized, about three times for twice the length, and the encode model counts
+    // each of them twice.
+    for (int length = threshold; length <= (5600 / 2); length *= 2) {
+      Assert.assertTrue(Integer.toString(length), (2 * Base58Check.decodeCost(2 * length)) < (7 * Base58Check.decodeCost(length)));
+    }
+    for (int length = 512; length <= (4096 / 2); length *= 2) {
+      Assert.assertTrue(Integer.toString(length), (4 * Base58Check.encodeCost(2 * length)) < (15 * Base58Check.encodeCost(length)));
+    }
+  }
+
   @Test
   public void test_decode() {
     final var testVectors = new LinkedHashMap<String, String>();
@@ -159,6 +214,128 @@ public class Base58CheckTest {
     }
   }
 
+  @Test
+  public void test_decode_all() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put("", "invalid checksum");
+    testVectors.put("3QJmnh", "");
+    testVectors.put("1Wh4bh", "00");
+    testVectors.put("dogsbark", "checksum failure");
+    testVectors.put("01Wh4bh", "invalid symbol found");
+    testVectors.put(Util.multiply("1", 5601), "data too long");
+    testVectors.put("1QLbz7JHiBTspS962RLKV8GndWFwi5j6Qr", "00ffffffffffffffffffffffffffffffffffffffff");
+    testVectors.put("37Sp6Rv3y4kVd1nQ1JV5pfqXccHNyZm1x4", "checksum failure");
+    testVectors.put("L5hNLtFov4mXzqToWDnvK64UJPGaBLaF7zbgLG6HAaEpCE2PRyvH", "80fced6d7a8592042fcf2bd1ded8d0fa559c6de95668b60a9d4537e321607654da01");
+    testVectors.put(Base58Check.encode(Util.fromHexString(Util.multiply("ff", 600))), Util.multiply("ff", 600));
+    final Map<String, Integer> statusOf = Map.of("invalid checksum", Base58Check.STATUS_INVALID_CHECKSUM, "checksum failure", Base58Check.STATUS_CHECKSUM_FAILURE, "invalid symbol found", Base58Check.STATUS_INVALID_SYMBOL, "data too long", Base58Check.STATUS_TOO_LONG);
+    for (final List<String> data : List.of(new ArrayList<>(testVectors.keySet()), new LinkedList<>(testVectors.keySet()), Collections.nCopies(3, new ArrayList<>(testVectors.keySet())).stream().flatMap(List::stream).toList())) {
+      final int[] statuses = new int[data.size() + 1];
+      Arrays.fill(statuses, -1);
+      final byte[][] results = Base58Check.decodeAll(data, statuses);
+      // the repeated vectors span more than one batch of the multi-buffer path. both paths agree with the engine in use.
+      for (final boolean lanes : new boolean[] { false, true, }) {
+        final int[] otherStatuses = new int[data.size()];
+        Assert.assertArrayEquals(results, Base58Check.decodeAll(data, otherStatuses, lanes));
+        Assert.assertArrayEquals(Arrays.copyOf(statuses, data.size()), otherStatuses);
+      }
+      Assert.assertEquals(data.size(), results.length);
+      Assert.assertEquals(-1, statuses[data.size()]);
+      for (int i = 0; i < data.size(); i++) {
+        final String expected = testVectors.get(data.get(i));
+        final Integer status = statusOf.get(expected);
+        if (status == null) {
+          Assert.assertEquals(data.get(i), Base58Check.STATUS_VALID, statuses[i]);
+          Assert.assertArrayEquals(data.get(i), Util.fromHexString(expected), results[i]);
+        } else {
+          Assert.assertEquals(data.get(i), status.intValue(), statuses[i]);
+          Assert.assertNull(data.get(i), results[i]);
+        }
+      }
+    }
+    Assert.assertEquals(0, Base58Check.decodeAll(List.of(), new int[0]).length);
+    var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.decodeAll(null, new int[0]);
+    });
+    Assert.assertEquals("data must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.decodeAll(List.of(), null);
+    });
+    Assert.assertEquals("statuses must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.decodeAll(Arrays.asList("3QJmnh", null), new int[2]);
+    });
+    Assert.assertEquals("data must not contain null", npe.getMessage());
+    final var iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.decodeAll(List.of("3QJmnh", "1Wh4bh"), new int[1]);
+    });
+    Assert.assertEquals("statuses too small", iae.getMessage());
+  }
+
+  @Test
+  public void test_decode_into() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put("", "invalid checksum");
+    testVectors.put("121", "invalid checksum");
+    testVectors.put("3QJmnh", "");
+    testVectors.put("1Wh4bh", "00");
+    testVectors.put("dogsbark", "checksum failure");
+    testVectors.put("😎", "invalid symbol found");
+    testVectors.put("01Wh4bh", "invalid symbol found");
+    testVectors.put("1111111111111111111114oLvT2", "000000000000000000000000000000000000000000");
+    testVectors.put("1QLbz7JHiBTspS962RLKV8GndWFwi5j6Qr", "00ffffffffffffffffffffffffffffffffffffffff");
+    testVectors.put("37Sp6Rv3y4kVd1nQ1JV5pfqXccHNyZm1x3", "053f210e7277c899c3a155cc1c90f4106cbddeec6e");
+    testVectors.put("37Sp6Rv3y4kVd1nQ1JV5pfqXccHNyZm1x4", "checksum failure");
+    testVectors.put("L5hNLtFov4mXzqToWDnvK64UJPGaBLaF7zbgLG6HAaEpCE2PRyvH", "80fced6d7a8592042fcf2bd1ded8d0fa559c6de95668b60a9d4537e321607654da01");
+    testVectors.put(Base58Check.encode(Util.fromHexString(Util.multiply("00", 600))), Util.multiply("00", 600)); // many leading zeros
+    testVectors.put(Base58Check.encode(Util.fromHexString(Util.multiply("ff", 600))), Util.multiply("ff", 600)); // more than 640 significant symbols
+    for (final var entry : testVectors.entrySet()) {
+      for (final int offset : new int[] { 0, 3, }) {
+        final byte[] output = new byte[offset + 700];
+        try {
+          final int length = Base58Check.decode(entry.getKey(), output, offset);
+          Assert.assertArrayEquals(entry.getKey(), Util.fromHexString(entry.getValue()), Arrays.copyOfRange(output, offset, offset + length));
+        } catch (final DecodingException e) {
+          Assert.assertEquals(entry.getKey(), entry.getValue(), e.getMessage());
+        }
+        for (final var buffer : new ByteBuffer[] { ByteBuffer.allocate(offset + 700), ByteBuffer.allocateDirect(offset + 700), }) {
+          buffer.position(offset);
+          try {
+            final int length = Base58Check.decode(new StringBuilder(entry.getKey()), buffer);
+            Assert.assertEquals(entry.getKey(), offset + length, buffer.position());
+            final byte[] result = new byte[length];
+            buffer.flip().position(offset);
+            buffer.get(result);
+            Assert.assertArrayEquals(entry.getKey(), Util.fromHexString(entry.getValue()), result);
+          } catch (final DecodingException e) {
+            Assert.assertEquals(entry.getKey(), entry.getValue(), e.getMessage());
+          }
+        }
+      }
+    }
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.decode("3QJmnh", (byte[]) null, 0);
+    });
+    Assert.assertEquals("output must not be null", npe.getMessage());
+    final var tooLong = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.decode(Util.multiply("1", 5601), ByteBuffer.allocate(0));
+    });
+    Assert.assertEquals("data too long", tooLong.getMessage());
+    for (final int offset : new int[] { -1, 2, }) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Base58Check.decode("3QJmnh", new byte[1], offset);
+      });
+      Assert.assertEquals("offset invalid", e.getMessage());
+    }
+    final var tooSmall = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.decode("1QLbz7JHiBTspS962RLKV8GndWFwi5j6Qr", new byte[21], 1);
+    });
+    Assert.assertEquals("output too small", tooSmall.getMessage());
+    final var bufferTooSmall = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.decode("1QLbz7JHiBTspS962RLKV8GndWFwi5j6Qr", ByteBuffer.allocate(20));
+    });
+    Assert.assertEquals("output too small", bufferTooSmall.getMessage());
+  }
+
   @Test
   public void test_decodeBase58() {
     final var testVectors = new LinkedHashMap<String, String>();
@@ -346,6 +523,76 @@ public class Base58CheckTest {
     }
   }
 
+  @Test
+  public void test_encode_into() throws IOException {
+    final var random = new Random(4096);
+    for (final int length : new int[] { 0, 1, 20, 21, 22, 77, 78, 79, 600, 4096, }) {
+      for (final int zeros : new int[] { 0, 1, length, }) {
+        final byte[] data = new byte[Math.max(length, zeros)];
+        random.nextBytes(data);
+        Arrays.fill(data, 0, Math.min(zeros, data.length), (byte) 0);
+        final String expected = Base58Check.encode(data);
+        Assert.assertEquals(expected.length(), Base58Check.encodedLength(data));
+        Assert.assertTrue(expected.length() <= Base58Check.maxEncodedLength(data.length));
+        for (final int offset : new int[] { 0, 3, }) {
+          final byte[] output = new byte[offset + expected.length()];
+          Assert.assertEquals(expected.length(), Base58Check.encode(data, output, offset));
+          Assert.assertEquals(expected, new String(output, offset, expected.length(), StandardCharsets.US_ASCII));
+          for (final var buffer : new ByteBuffer[] { ByteBuffer.allocate(offset + expected.length()), ByteBuffer.allocateDirect(offset + expected.length()), }) {
+            buffer.position(offset);
+            Assert.assertEquals(expected.length(), Base58Check.encode(data, buffer));
+            Assert.assertEquals(offset + expected.length(), buffer.position());
+            final byte[] result = new byte[expected.length()];
+            buffer.flip().position(offset);
+            buffer.get(result);
+            Assert.assertEquals(expected, new String(result, StandardCharsets.US_ASCII));
+          }
+        }
+        Assert.assertEquals("prefix" + expected, Base58Check.encode(data, new StringBuilder("prefix")).toString());
+        Assert.assertEquals(expected, Base58Check.encode(data, new StringWriter()).toString());
+      }
+    }
+    for (int length = 0; length <= 4096; length += ((length < 100) ? 1 : 1124)) { // 1116, 2240 and 3364 are close to an integer bound
+      final byte[] data = new byte[length];
+      Arrays.fill(data, (byte) 0xff);
+      Assert.assertEquals(Base58Check.encodedLength(data), Base58Check.maxEncodedLength(length));
+    }
+    var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.encode(null, new byte[0], 0);
+    });
+    Assert.assertEquals("data must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.encode(new byte[0], (ByteBuffer) null);
+    });
+    Assert.assertEquals("output must not be null", npe.getMessage());
+    npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.encodedLength(null);
+    });
+    Assert.assertEquals("data must not be null", npe.getMessage());
+    var iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.encode(new byte[4097], new StringBuilder());
+    });
+    Assert.assertEquals("data too long", iae.getMessage());
+    iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.encode(new byte[0], new byte[8], 9);
+    });
+    Assert.assertEquals("offset invalid", iae.getMessage());
+    iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.encode(Util.fromHexString(Util.multiply("ff", 21)), new byte[34], 1);
+    });
+    Assert.assertEquals("output too small", iae.getMessage());
+    iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Check.encode(Util.fromHexString(Util.multiply("ff", 21)), ByteBuffer.allocate(33));
+    });
+    Assert.assertEquals("output too small", iae.getMessage());
+    for (final int length : new int[] { -1, 4097, }) {
+      iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Base58Check.maxEncodedLength(length);
+      });
+      Assert.assertEquals("length invalid", iae.getMessage());
+    }
+  }
+
   @Test
   public void test_encodeBase58() {
     final var testVectors = new LinkedHashMap<String, String>();
@@ -387,6 +634,37 @@ public class Base58CheckTest {
     }
   }
 
+  @Test
+  public void test_inspect() {
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Base58Check.inspect(null);
+    });
+    Assert.assertEquals("data must not be null", npe.getMessage());
+    final var testVectors = new LinkedHashMap<String, long[]>(); // status, version, length
+    testVectors.put(Util.multiply("1", 5601), new long[] { Base58Check.STATUS_TOO_LONG, 0, 0, });
+    testVectors.put("", new long[] { Base58Check.STATUS_INVALID_CHECKSUM, 0, 0, });
+    testVectors.put("121", new long[] { Base58Check.STATUS_INVALID_CHECKSUM, 0, 0, });
+    testVectors.put("dogsbark", new long[] { Base58Check.STATUS_CHECKSUM_FAILURE, 0, 0, });
+    testVectors.put("01Wh4bh", new long[] { Base58Check.STATUS_INVALID_SYMBOL, 0, 0, });
+    testVectors.put("😎", new long[] { Base58Check.STATUS_INVALID_SYMBOL, 0, 0, });
+    testVectors.put("3QJmnh", new long[] { Base58Check.STATUS_VALID, 0, 0, });
+    testVectors.put("VrZDWwe", new long[] { Base58Check.STATUS_VALID, 0xff, 1, });
+    testVectors.put("13p1ijLwsnrcuyqcTvJXkq2ASdXqcnEBLE", new long[] { Base58Check.STATUS_VALID, 0x00, 21, });
+    testVectors.put("3ALJH9Y951VCGcVZYAdpA3KchoP9McEj1G", new long[] { Base58Check.STATUS_VALID, 0x05, 21, });
+    testVectors.put("2N7FuwuUuoTBrDFdrAZ9KxBmtqMLxce9i1C", new long[] { Base58Check.STATUS_VALID, 0xc4, 21, });
+    testVectors.put("2N7FuwuUuoTBrDFdrAZ9KxBmtqMLxce9i1D", new long[] { Base58Check.STATUS_CHECKSUM_FAILURE, 0, 0, });
+    testVectors.put("L5hNLtFov4mXzqToWDnvK64UJPGaBLaF7zbgLG6HAaEpCE2PRyvH", new long[] { Base58Check.STATUS_VALID, 0x80, 34, });
+    testVectors.put(Base58Check.encode(Util.fromHexString(Util.multiply("ef", 4096))), new long[] { Base58Check.STATUS_VALID, 0xef, 4096, });
+    for (final var entry : testVectors.entrySet()) {
+      final long inspection = Base58Check.inspect(entry.getKey());
+      Assert.assertEquals(entry.getKey(), entry.getValue()[0], Base58Check.statusOf(inspection));
+      Assert.assertEquals(entry.getKey(), entry.getValue()[1], Base58Check.versionOf(inspection));
+      Assert.assertEquals(entry.getKey(), entry.getValue()[2], Base58Check.lengthOf(inspection));
+      Assert.assertEquals(entry.getKey(), entry.getValue()[0] == Base58Check.STATUS_VALID, Base58Check.isValid(entry.getKey()));
+      Assert.assertEquals(entry.getKey(), entry.getValue()[0] == Base58Check.STATUS_VALID, Base58Check.isValid(new StringBuilder(entry.getKey())));
+    }
+  }
+
   @Test
   public void test_round_trip() {
     final List<String> testVectors = new LinkedList<>();
@@ -402,6 +680,12 @@ public class Base58CheckTest {
     testVectors.add("01ffffffff");
     testVectors.add("aaaaaaaa");
     testVectors.add("55555555");
+    testVectors.add(Util.multiply("00", 21)); // the fixed-width paths, including leading zeros that run into the checksum
+    testVectors.add(Util.multiply("ff", 21));
+    testVectors.add("00" + Util.multiply("ff", 20));
+    testVectors.add(Util.multiply("00", 78));
+    testVectors.add(Util.multiply("ff", 78));
+    testVectors.add("0488b21e" + Util.multiply("00", 74));
     testVectors.add(Util.multiply("00", 4096)); // max length input all zero bits
     testVectors.add(Util.multiply("ff", 4096)); // max length input all one bits
     //
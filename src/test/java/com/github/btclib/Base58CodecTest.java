@@ -0,0 +1,163 @@
+package com.github.btclib;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Base58CodecTest {
+  private static final String ALPHABET = Base58Codec.BITCOIN.getAlphabet();
+
+  private static byte[] toBytes(final BigInteger value, final int length) {
+    final byte[] result = new byte[length];
+    final byte[] magnitude = value.toByteArray();
+    final int count = Math.min(magnitude.length, length);
+    System.arraycopy(magnitude, magnitude.length - count, result, length - count, count);
+    return result;
+  }
+
+  private static String translate(final String data, final Base58Codec from, final Base58Codec to) {
+    final var result = new StringBuilder(data.length());
+    for (int i = 0; i < data.length(); i++) {
+      result.append(to.getAlphabet().charAt(from.getAlphabet().indexOf(data.charAt(i))));
+    }
+    return result.toString();
+  }
+
+  @Test
+  public void test_alphabets() throws DecodingException {
+    final var random = new Random(58);
+    for (int i = 0; i < 500; i++) {
+      final byte[] data = new byte[random.nextInt(100)];
+      random.nextBytes(data);
+      if ((data.length > 0) && ((i % 3) == 0)) {
+        data[0] = 0; // a leading zero byte encodes to the first symbol of the alphabet
+      }
+      final String bitcoin = Base58Codec.BITCOIN.encodeChecked(data);
+      Assert.assertEquals(Base58Check.encode(data), bitcoin);
+      Assert.assertEquals(Base58Check.encodeBase58(data), Base58Codec.BITCOIN.encode(data));
+      for (final var codec : new Base58Codec[] { Base58Codec.RIPPLE, Base58Codec.FLICKR, Base58Codec.of(new StringBuilder(Base58Codec.BITCOIN.getAlphabet()).reverse().toString()), }) {
+        final String encoded = codec.encodeChecked(data);
+        Assert.assertEquals(Base58CodecTest.translate(bitcoin, Base58Codec.BITCOIN, codec), encoded);
+        Assert.assertArrayEquals(data, codec.decodeChecked(encoded));
+        Assert.assertArrayEquals(data, codec.decode(codec.encode(data)));
+      }
+    }
+  }
+
+  @Test
+  public void test_decode() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    // ripple ACCOUNT_ZERO and ACCOUNT_ONE
+    testVectors.put("rrrrrrrrrrrrrrrrrrrrrhoLvTp", "00" + Util.multiply("00", 20));
+    testVectors.put("rrrrrrrrrrrrrrrrrrrrBZbvji", "00" + Util.multiply("00", 19) + "01");
+    testVectors.put("rrrrrrrrrrrrrrrrrrrrrhoLvT0", "invalid symbol found");
+    testVectors.put("rrrrrrrrrrrrrrrrrrrrrhoLvTP", "checksum failure");
+    testVectors.put("", "invalid checksum");
+    for (final var entry : testVectors.entrySet()) {
+      try {
+        final byte[] result = Base58Codec.RIPPLE.decodeChecked(entry.getKey());
+        Assert.assertArrayEquals(entry.getKey(), Util.fromHexString(entry.getValue()), result);
+      } catch (final DecodingException e) {
+        Assert.assertEquals(entry.getKey(), entry.getValue(), e.getMessage());
+      }
+    }
+    final var e = Assert.assertThrows(DecodingException.class, () -> {
+      Base58Codec.FLICKR.decode("0");
+    });
+    Assert.assertEquals("invalid symbol found", e.getMessage());
+    final var iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Codec.FLICKR.decode(Util.multiply("1", 5601));
+    });
+    Assert.assertEquals("data too long", iae.getMessage());
+  }
+
+  @Test
+  public void test_payload_ranges() throws DecodingException {
+    // every two byte payload, against prefixes of one and two symbols and some longer ones
+    final var encodings = new String[1 << 16];
+    for (int i = 0; i < encodings.length; i++) {
+      encodings[i] = Base58Check.encode(new byte[] { (byte) (i >>> 8), (byte) i, });
+    }
+    final var prefixes = new ArrayList<String>(List.of("", "1", "11", "111", "1111", "11111", "1111111", "2", "z", "zz", "12", "1z", "3QJ", "ZZZZZZ", "A2"));
+    for (final char first : Base58CodecTest.ALPHABET.toCharArray()) {
+      for (final char second : "12Whz".toCharArray()) {
+        prefixes.add("" + first + second);
+      }
+    }
+    for (final String prefix : prefixes) {
+      final var ranges = Base58Codec.BITCOIN.payloadRanges(prefix, 2);
+      final int[][] bounds = new int[ranges.size()][];
+      for (int r = 0; r < bounds.length; r++) {
+        final byte[] low = ranges.get(r).getLow();
+        final byte[] high = ranges.get(r).getHigh();
+        bounds[r] = new int[] { ((low[0] & 0xff) << 8) | (low[1] & 0xff), ((high[0] & 0xff) << 8) | (high[1] & 0xff), };
+        Assert.assertTrue(prefix, bounds[r][0] <= bounds[r][1]);
+        Assert.assertTrue(prefix, (r == 0) || (bounds[r - 1][1] < bounds[r][0])); // ascending and disjoint
+      }
+      int matches = 0;
+      int inside = 0;
+      for (int i = 0; i < encodings.length; i++) {
+        final boolean match = encodings[i].startsWith(prefix);
+        boolean inRange = false;
+        for (final int[] bound : bounds) {
+          inRange |= (bound[0] <= i) && (i <= bound[1]);
+        }
+        Assert.assertTrue(prefix + " " + i, !match || inRange);
+        matches += match ? 1 : 0;
+        inside += inRange ? 1 : 0;
+      }
+      Assert.assertTrue(prefix, inside <= (matches + (4 * bounds.length))); // only the ends, or a merge point, may not match
+    }
+    // legacy addresses, "all P2PKH addresses that start with 1Boat"
+    final var ranges = Base58Codec.BITCOIN.payloadRanges("1Boat", 21);
+    Assert.assertEquals(2, ranges.size()); // 33 and 34 symbol addresses
+    final var random = new Random(21);
+    for (final var range : ranges) {
+      final var low = new BigInteger(1, range.getLow());
+      final var high = new BigInteger(1, range.getHigh());
+      Assert.assertEquals(0, low.shiftRight(160).intValue()); // the version byte
+      Assert.assertFalse(Base58Check.encode(Base58CodecTest.toBytes(low.subtract(BigInteger.ONE), 21)).startsWith("1Boat"));
+      Assert.assertFalse(Base58Check.encode(Base58CodecTest.toBytes(high.add(BigInteger.ONE), 21)).startsWith("1Boat"));
+      for (int i = 0; i < 200; i++) {
+        final var payload = low.add(BigInteger.ONE).add(new BigInteger(high.bitLength(), random).mod(high.subtract(low).subtract(BigInteger.ONE)));
+        Assert.assertTrue(Base58Check.encode(Base58CodecTest.toBytes(payload, 21)).startsWith("1Boat"));
+      }
+    }
+    Assert.assertEquals("[, ]", Base58Codec.BITCOIN.payloadRanges("1111", 0).get(0).toString());
+    Assert.assertEquals(List.of(), Base58Codec.BITCOIN.payloadRanges("11111", 0));
+    Assert.assertEquals(List.of(), Base58Codec.BITCOIN.payloadRanges("zzzzzzzzzzzz", 2));
+    final var e = Assert.assertThrows(DecodingException.class, () -> {
+      Base58Codec.BITCOIN.payloadRanges("1O", 21);
+    });
+    Assert.assertEquals("invalid symbol found", e.getMessage());
+    final var iae = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Base58Codec.BITCOIN.payloadRanges("1", 4097);
+    });
+    Assert.assertEquals("payloadLength invalid", iae.getMessage());
+  }
+
+  @Test
+  public void test_of() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put(null, "java.lang.NullPointerException: alphabet must not be null");
+    testVectors.put(Base58Codec.BITCOIN.getAlphabet().substring(1), "java.lang.IllegalArgumentException: alphabet length invalid");
+    testVectors.put(Base58Codec.BITCOIN.getAlphabet() + "0", "java.lang.IllegalArgumentException: alphabet length invalid");
+    testVectors.put("0" + Base58Codec.BITCOIN.getAlphabet().substring(1), null);
+    testVectors.put("é" + Base58Codec.BITCOIN.getAlphabet().substring(1), "java.lang.IllegalArgumentException: alphabet must be US-ASCII");
+    testVectors.put("2" + Base58Codec.BITCOIN.getAlphabet().substring(1), "java.lang.IllegalArgumentException: alphabet must not contain duplicates");
+    for (final var entry : testVectors.entrySet()) {
+      try {
+        Assert.assertEquals(entry.getKey(), Base58Codec.of(entry.getKey()).getAlphabet());
+        Assert.assertNull(entry.getValue());
+      } catch (final RuntimeException e) {
+        Assert.assertEquals(entry.getValue(), e.toString());
+      }
+    }
+    Assert.assertEquals("rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz", Base58Codec.RIPPLE.toString());
+  }
+}
@@ -0,0 +1,152 @@
+package com.github.btclib;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Base58LimbsTest {
+  private static final BigInteger FIFTY_EIGHT = BigInteger.valueOf(58);
+
+  private static byte[] referenceFromBase58(final byte[] data) {
+    int leadingZeros = 0;
+    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    var value = BigInteger.ZERO;
+    for (final byte element : data) {
+      value = value.multiply(Base58LimbsTest.FIFTY_EIGHT).add(BigInteger.valueOf(element));
+    }
+    final byte[] magnitude = (value.signum() == 0) ? Util.EMPTY_BYTE_ARRAY : value.toByteArray();
+    final int skip = ((magnitude.length > 0) && (magnitude[0] == 0)) ? 1 : 0; // drop the sign byte
+    final byte[] result = new byte[(leadingZeros + magnitude.length) - skip];
+    System.arraycopy(magnitude, skip, result, leadingZeros, magnitude.length - skip);
+    return result;
+  }
+
+  private static byte[] referenceToBase58(final byte[] data) {
+    int leadingZeros = 0;
+    while ((leadingZeros < data.length) && (data[leadingZeros] == 0)) {
+      leadingZeros++;
+    }
+    var value = new BigInteger(1, data);
+    final var digits = new StringBuilder();
+    while (value.signum() != 0) {
+      final var qr = value.divideAndRemainder(Base58LimbsTest.FIFTY_EIGHT);
+      digits.append((char) qr[1].intValue());
+      value = qr[0];
+    }
+    final byte[] result = new byte[leadingZeros + digits.length()];
+    for (int i = 0; i < digits.length(); i++) {
+      result[result.length - 1 - i] = (byte) digits.charAt(i);
+    }
+    return result;
+  }
+
+  @Test
+  public void test_extremes() {
+    for (int length = 0; length <= 200; length++) {
+      for (final int zeros : new int[] { 0, 1, 3, length, }) {
+        if (zeros > length) {
+          continue;
+        }
+        final byte[] ones = new byte[length];
+        Arrays.fill(ones, zeros, length, (byte) 0xff);
+        Assert.assertArrayEquals(Base58LimbsTest.referenceToBase58(ones), Base58Limbs.toBase58(ones));
+        final byte[] max58 = new byte[length];
+        Arrays.fill(max58, zeros, length, (byte) 57);
+        Assert.assertArrayEquals(Base58LimbsTest.referenceFromBase58(max58), Base58Limbs.fromBase58(max58));
+        final byte[] min = new byte[length];
+        if (zeros < length) {
+          min[zeros] = 1;
+        }
+        Assert.assertArrayEquals(Base58LimbsTest.referenceToBase58(min), Base58Limbs.toBase58(min));
+        Assert.assertArrayEquals(Base58LimbsTest.referenceFromBase58(min), Base58Limbs.fromBase58(min));
+      }
+    }
+  }
+
+  @Test
+  public void test_fixed() {
+    final var random = new Random(2178);
+    for (int i = 0; i < 4000; i++) {
+      final int length = ((i % 2) == 0) ? 21 : 78;
+      final byte[] data = new byte[length + 4];
+      random.nextBytes(data);
+      Arrays.fill(data, 0, (i / 2) % (length + 5), (byte) 0); // leading zeros, sometimes extending into the checksum
+      final byte[] payload = Arrays.copyOf(data, length);
+      final int checksum = ((data[length] & 0xff) << 24) | ((data[length + 1] & 0xff) << 16) | ((data[length + 2] & 0xff) << 8) | (data[length + 3] & 0xff);
+      final byte[] digits = new byte[(length == 21) ? Base58Limbs.FIXED_SHORT_DIGITS : Base58Limbs.FIXED_LONG_DIGITS];
+      final int start = Base58Limbs.toBase58Fixed(payload, checksum, digits);
+      final byte[] expected = Base58LimbsTest.referenceToBase58(data);
+      Assert.assertArrayEquals(expected, Arrays.copyOfRange(digits, start, digits.length));
+      final int[] words = new int[(expected.length <= Base58Limbs.FIXED_SHORT_DIGITS) ? 7 : 22];
+      Assert.assertEquals(data.length, Base58Limbs.fromBase58Fixed(expected, expected.length, words));
+      final byte[] decoded = new byte[data.length];
+      Base58Limbs.toBytes(words, 0, words.length, decoded, 0, decoded.length);
+      Assert.assertArrayEquals(data, decoded);
+    }
+    for (int length = 0; length <= Base58Limbs.FIXED_LONG_DIGITS; length++) {
+      for (final int fill : new int[] { 0, 1, 57, -1, }) {
+        final byte[] digits = new byte[length];
+        for (int j = 0; j < length; j++) {
+          digits[j] = (byte) ((fill >= 0) ? fill : random.nextInt(58));
+        }
+        final byte[] expected = Base58LimbsTest.referenceFromBase58(digits);
+        final int[] words = new int[((length * 3) / 16) + 1];
+        Assert.assertEquals(expected.length, Base58Limbs.fromBase58Fixed(digits, digits.length, words));
+        final byte[] decoded = new byte[expected.length];
+        Base58Limbs.toBytes(words, 0, words.length, decoded, 0, decoded.length);
+        Assert.assertArrayEquals(expected, decoded);
+      }
+    }
+  }
+
+  @Test
+  public void test_long() {
+    final var random = new Random(5600);
+    final int threshold = Base58Limbs.SPLIT_THRESHOLD;
+    final int[] lengths = { (threshold * 733) / 1000, ((threshold * 733) / 1000) + 1, threshold - 1, threshold, threshold + 1, 2 * threshold, (2 * threshold) + 1, 4095, 4096, 4100, 5600, };
+    for (final int length : lengths) {
+      for (final int zeros : new int[] { 0, 1, 7, }) {
+        final byte[] data = new byte[length];
+        random.nextBytes(data);
+        Arrays.fill(data, 0, zeros, (byte) 0);
+        final byte[] base58 = Base58Limbs.toBase58(data);
+        Assert.assertArrayEquals(Base58LimbsTest.referenceToBase58(data), base58);
+        Assert.assertArrayEquals(data, Base58Limbs.fromBase58(base58));
+        Arrays.fill(data, zeros, length, (byte) 0xff);
+        Assert.assertArrayEquals(data, Base58Limbs.fromBase58(Base58Limbs.toBase58(data)));
+        final byte[] digits = new byte[length];
+        for (int j = zeros; j < length; j++) {
+          digits[j] = (byte) random.nextInt(58);
+        }
+        Assert.assertArrayEquals(Base58LimbsTest.referenceFromBase58(digits), Base58Limbs.fromBase58(digits));
+        Arrays.fill(digits, zeros, length, (byte) 57);
+        Assert.assertArrayEquals(Base58LimbsTest.referenceFromBase58(digits), Base58Limbs.fromBase58(digits));
+      }
+    }
+  }
+
+  @Test
+  public void test_random() {
+    final var random = new Random(58);
+    for (int i = 0; i < 2000; i++) {
+      final int length = random.nextInt(120);
+      final byte[] data = new byte[length];
+      random.nextBytes(data);
+      final int zeros = (length == 0) ? 0 : random.nextInt(Math.min(length, 4) + 1);
+      Arrays.fill(data, 0, zeros, (byte) 0);
+      final byte[] base58 = Base58Limbs.toBase58(data);
+      Assert.assertArrayEquals(Base58LimbsTest.referenceToBase58(data), base58);
+      Assert.assertArrayEquals(data, Base58Limbs.fromBase58(base58));
+      final byte[] digits = new byte[length];
+      for (int j = zeros; j < length; j++) {
+        digits[j] = (byte) random.nextInt(58);
+      }
+      Assert.assertArrayEquals(Base58LimbsTest.referenceFromBase58(digits), Base58Limbs.fromBase58(digits));
+    }
+  }
+}
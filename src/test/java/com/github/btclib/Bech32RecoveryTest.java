@@ -0,0 +1,92 @@
+package com.github.btclib;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Bech32RecoveryTest {
+  private static final String CHARSET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l";
+  private static final String[] VALID = { //
+      "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", // BECH32
+      "tb1qrp33g0q5c5txsp9arysrx4k6zdkfs4nce4xj0gdcccefvpysxf3q0sl5k7", // BECH32
+      "bc1p5cyxnuxmeuwuvkwfem96lqzszd02n6xdcjrs20cac6yqjjwudpxqkedrcr", // BECH32M
+      "bcrt1p5cyxnuxmeuwuvkwfem96lqzszd02n6xdcjrs20cac6yqjjwudpxqvg32hk", // BECH32M
+      "a12uel5l", // BECH32
+  };
+
+  /**
+   * @return data with the character at each index replaced by a different character of the Bech32 character set
+   */
+  private static String substitute(final String data, final Random random, final int... indexes) {
+    final char[] result = data.toCharArray();
+    for (final int index : indexes) {
+      final int value = Bech32RecoveryTest.CHARSET.indexOf(result[index]);
+      result[index] = Bech32RecoveryTest.CHARSET.charAt(value ^ (1 + random.nextInt(31)));
+    }
+    return new String(result);
+  }
+
+  private static void assertRecovered(final String expected, final String mistyped, final int... positions) throws DecodingException {
+    final var variant = Bech32.decode(expected).getVariant();
+    final var result = Bech32Recovery.recover(mistyped, variant);
+    Assert.assertEquals(mistyped, 1, result.size());
+    Assert.assertEquals(mistyped, expected, result.get(0).toString());
+    Assert.assertArrayEquals(mistyped, positions, result.get(0).getPositions());
+  }
+
+  @Test
+  public void test_invalid() {
+    Assert.assertEquals("input must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Bech32Recovery.recover(null, Bech32.Variant.BECH32);
+    }).getMessage());
+    Assert.assertEquals("variant must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Bech32Recovery.recover("a12uel5l", null);
+    }).getMessage());
+    Assert.assertEquals("input too long", Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Bech32Recovery.recover("a1" + Util.multiply("q", Bech32Recovery.MAX_LENGTH - 1), Bech32.Variant.BECH32);
+    }).getMessage());
+    Assert.assertEquals("input is mixed case", Assert.assertThrows(DecodingException.class, () -> {
+      Bech32Recovery.recover("A12uel5l", Bech32.Variant.BECH32);
+    }).getMessage());
+    Assert.assertEquals("separator location invalid", Assert.assertThrows(DecodingException.class, () -> {
+      Bech32Recovery.recover("a2uel5lq", Bech32.Variant.BECH32);
+    }).getMessage());
+  }
+
+  @Test
+  public void test_recover() throws DecodingException {
+    final var random = new Random(173);
+    for (final String valid : Bech32RecoveryTest.VALID) {
+      final int start = valid.lastIndexOf('1') + 1;
+      Bech32RecoveryTest.assertRecovered(valid, valid);
+      Bech32RecoveryTest.assertRecovered(valid, valid.toUpperCase(Locale.ROOT));
+      for (int i = start; i < valid.length(); i++) { // every single substitution position
+        Bech32RecoveryTest.assertRecovered(valid, Bech32RecoveryTest.substitute(valid, random, i), i);
+        for (int j = i + 1; j < valid.length(); j++) { // every pair of positions
+          Bech32RecoveryTest.assertRecovered(valid, Bech32RecoveryTest.substitute(valid, random, i, j), i, j);
+        }
+      }
+      // characters outside of the character set are substitutions at known positions
+      final int last = valid.length() - 1;
+      Bech32RecoveryTest.assertRecovered(valid, valid.substring(0, last) + "b", last);
+      Bech32RecoveryTest.assertRecovered(valid, valid.substring(0, start) + "o" + valid.substring(start + 1, last) + "i", start, last);
+      Bech32RecoveryTest.assertRecovered(valid, valid.substring(0, start) + "o" + Bech32RecoveryTest.substitute(valid, random, last).substring(start + 1), start, last);
+      final String three = valid.substring(0, start) + "bio" + valid.substring(start + 3);
+      Assert.assertTrue(three, Bech32Recovery.recover(three, Bech32.Variant.BECH32).isEmpty());
+      final var other = (Bech32.decode(valid).getVariant() == Bech32.Variant.BECH32) ? Bech32.Variant.BECH32M : Bech32.Variant.BECH32;
+      for (final var correction : Bech32Recovery.recover(valid, other)) {
+        Assert.assertNotEquals(valid, correction.toString());
+        Assert.assertEquals(other, Bech32.decode(correction.toString()).getVariant());
+      }
+    }
+    // an 'l' typed as '1' is taken as the separator, so each earlier '1' is tried as the separator too
+    Bech32RecoveryTest.assertRecovered("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", "bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t1", 41);
+    Bech32RecoveryTest.assertRecovered("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", "bc1qw508d6qe1xtdg4y5r3zarvary0c5xw7kv8f3t4", 12);
+    Bech32RecoveryTest.assertRecovered("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", "BC1QW508D6QE1XTDG4Y5R3ZARVARY0C5XW7KV8F3T1", 12, 41);
+    Bech32RecoveryTest.assertRecovered("bc1p5cyxnuxmeuwuvkwfem96lqzszd02n6xdcjrs20cac6yqjjwudpxqkedrcr", "bc1p5cyxnuxmeuwuvkwfem961qzszd02n6xdcjrs20cac6yqjjwudpxqkedrcr", 24);
+    // an erasure of the symbol 0 needs no substitution to be located
+    Bech32RecoveryTest.assertRecovered("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", "bc1bw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", 3);
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Locale;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -335,10 +336,17 @@ public class Bech32Test {
     // https://github.com/lightning/bolts/blob/master/11-payment-encoding.md
     testVectors.put("lnbc1pvjluezsp5zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zygspp5qqqsyqcyq5rqwzqfqqqsyqcyq5rqwzqfqqqsyqcyq5rqwzqfqypqdpl2pkx2ctnv5sxxmmwwd5kgetjypeh2ursdae8g6twvus8g6rfwvs8qun0dfjkxaq9qrsgq357wnc5r2ueh7ck6q93dj32dlqnls087fxdwk8qakdyafkq3yap9us6v52vjjsrvywa6rt52cm9r9zqt8r2t7mlcwspyetp5h2tztugp9lfyql", new String[] { "lnbc", "BECH32", });
     testVectors.put("lnbc2500u1pvjluezsp5zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zyg3zygspp5qqqsyqcyq5rqwzqfqqqsyqcyq5rqwzqfqqqsyqcyq5rqwzqfqypqdq5xysxxatsyp3k7enxv4jsxqzpu9qrsgquk0rl77nj30yxdy8j9vdx85fkpmdla2087ne0xh8nhedh8w27kyke0lp53ut353s06fv3qfegext0eh0ymjpf39tuven09sam30g4vgpfna3rh", new String[] { "lnbc2500u", "BECH32", });
+    final var target = new Bech32.Decoded(); // reused across inputs of different lengths
     for (final var entry : testVectors.entrySet()) {
       try {
         final var result = Bech32.decode(entry.getKey());
         final var expected = (String[]) entry.getValue();
+        Assert.assertSame(target, Bech32.decode(new StringBuilder(entry.getKey()), target));
+        Assert.assertEquals(entry.getKey(), result.getHumanReadablePart(), entry.getKey().substring(0, target.getHumanReadablePartLength()).toLowerCase(Locale.ROOT));
+        Assert.assertEquals(entry.getKey(), result.getVariant(), target.getVariant());
+        final byte[] targetData = new byte[target.getDataLength()];
+        Assert.assertEquals(targetData.length, target.getData(targetData, 0));
+        Assert.assertArrayEquals(entry.getKey(), result.getData(), targetData);
         Assert.assertEquals(entry.getKey(), entry.getKey().toLowerCase(Locale.ROOT), result.toString());
         Assert.assertEquals(entry.getKey(), expected[0], result.getHumanReadablePart());
         Assert.assertEquals(entry.getKey(), Bech32.Variant.valueOf(expected[1]), result.getVariant());
@@ -360,6 +368,9 @@ public class Bech32Test {
         }
       } catch (final Exception e) {
         Assert.assertEquals(entry.getKey(), entry.getValue().toString(), e.toString());
+        Assert.assertEquals(entry.getKey(), e.toString(), Assert.assertThrows(DecodingException.class, () -> {
+          Bech32.decode(new StringBuilder(entry.getKey()), target);
+        }).toString());
       }
     }
   }
@@ -542,4 +553,94 @@ public class Bech32Test {
       }
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void test_polymod() {
+    final var random = new Random(173);
+    for (int length = 0; length <= 100; length++) { // even and odd lengths, split into arrays of every length
+      final byte[] data = new byte[length];
+      for (int i = 0; i < length; i++) {
+        data[i] = (byte) random.nextInt(32);
+      }
+      int expected = 1;
+      for (final byte element : data) {
+        expected = Bech32.step(expected, element);
+      }
+      Assert.assertEquals(expected, Bech32.polymod(1, data));
+      final int split = random.nextInt(length + 1);
+      Assert.assertEquals(expected, Bech32.polymod(1, Arrays.copyOfRange(data, 0, split), Arrays.copyOfRange(data, split, length)));
+    }
+  }
+
+  @Test
+  public void test_polymod_hrp() throws DecodingException {
+    for (final String hrp : new String[] { "a", "bc", "tb", "bcrt", "lnbc", "lnbc2500u", Util.multiply("~", Bech32.MAX_HRP_LENGTH), }) {
+      int expected = 1; // the expanded form, computed symbol by symbol
+      for (int i = 0; i < hrp.length(); i++) {
+        expected = Bech32.step(expected, hrp.charAt(i) >>> 5);
+      }
+      expected = Bech32.step(expected, 0);
+      for (int i = 0; i < hrp.length(); i++) {
+        expected = Bech32.step(expected, hrp.charAt(i) & 0x1f);
+      }
+      Assert.assertEquals(hrp, expected, Bech32.polymod(hrp, hrp.length()));
+      Assert.assertEquals(hrp, expected, Bech32.polymod(hrp.toUpperCase(Locale.ROOT) + "1", hrp.length())); // lower cased as it is read
+    }
+    // more parts than the registry holds still encode and decode, whether their state is registered or not
+    for (int i = 0; i < 1000; i++) {
+      final var encoded = Bech32.encode("hrp" + i, new byte[] { (byte) (i & 0x1f), }, Bech32.Variant.BECH32M);
+      Assert.assertEquals(encoded.toString(), Bech32.decode(encoded.toString()).toString());
+      Assert.assertEquals("hrp" + i, Bech32.decode(encoded.toString()).getHumanReadablePart());
+    }
+  }
+
+  @Test
+  public void test_decode_target() throws DecodingException {
+    final var target = new Bech32.Decoded();
+    Assert.assertNull(target.getVariant());
+    Assert.assertEquals(0, target.getDataLength());
+    Bech32.decode("BC1SW50QA3JX3S", target);
+    Assert.assertEquals(2, target.getHumanReadablePartLength());
+    Assert.assertEquals(Bech32.Variant.BECH32, target.getVariant());
+    Assert.assertEquals(5, target.getDataLength());
+    Assert.assertEquals(16, target.getData(0)); // witness version 16
+    Assert.assertThrows(IndexOutOfBoundsException.class, () -> {
+      target.getData(5);
+    });
+    final byte[] output = new byte[6];
+    Assert.assertEquals(5, target.getData(output, 1));
+    Assert.assertArrayEquals(Util.concat(0, Bech32.decode("bc1sw50qa3jx3s").getData()), output);
+    Assert.assertEquals("output too small", Assert.assertThrows(IllegalArgumentException.class, () -> {
+      target.getData(output, 2);
+    }).getMessage());
+    Assert.assertEquals("offset invalid", Assert.assertThrows(IllegalArgumentException.class, () -> {
+      target.getData(output, 7);
+    }).getMessage());
+    final byte[] data5 = { 0, 14, 20, 15, 7, 13, 26, 0, 25, 18, 6, 11, 13, 8, 21, 4, 20, 3, 17, 2, 29, 3, 12, 29, 3, 4, 15, 24, 20, 6, 14, 30, 22, };
+    // the common parts, parts that share a prefix or a length with them, and parts that are not common
+    for (final String hrp : new String[] { "bc", "tb", "bcrt", "lnbc", "lntb", "lnbcrt", "b", "bd", "bcr", "bcrtx", "lnbcrs", "a", "?", }) {
+      for (final var variant : Bech32.Variant.values()) {
+        final String encoded = Bech32.encode(hrp, data5, variant).toString();
+        for (final String input : new String[] { encoded, encoded.toUpperCase(Locale.ROOT), }) {
+          Bech32.decode(input, target);
+          Assert.assertEquals(input, hrp.length(), target.getHumanReadablePartLength());
+          Assert.assertEquals(input, variant, target.getVariant());
+          Assert.assertEquals(input, data5.length, target.getDataLength());
+          Assert.assertEquals(input, data5[data5.length - 1], target.getData(data5.length - 1));
+        }
+        if (hrp.length() > 1) {
+          final String swapped = (hrp.equals("bd") ? "bc" : "bd") + encoded.substring(2); // a checksum over another part
+          Assert.assertEquals(swapped, "checksum invalid", Assert.assertThrows(DecodingException.class, () -> {
+            Bech32.decode(swapped, target);
+          }).getMessage());
+        }
+      }
+    }
+    Assert.assertEquals("target must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Bech32.decode("bc1sw50qa3jx3s", null);
+    }).getMessage());
+    Assert.assertEquals("input must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Bech32.decode((CharSequence) null, target);
+    }).getMessage());
+  }
+}
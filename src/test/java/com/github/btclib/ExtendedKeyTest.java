@@ -0,0 +1,90 @@
+package com.github.btclib;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.LinkedHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * https://github.com/bitcoin/bips/blob/master/bip-0032.mediawiki#test-vectors
+ */
+public class ExtendedKeyTest {
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] result = new byte[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Test
+  public void test_decode() throws DecodingException {
+    final var testVectors = new LinkedHashMap<String, String[]>(); // version, depth, parentFingerprint, childNumber, chainCode, keyData
+    // test vector 1, chain m
+    testVectors.put("xpub661MyMwAqRbcFtXgS5sYJABqqG9YLmC4Q1Rdap9gSE8NqtwybGhePY2gZ29ESFjqJoCu1Rupje8YtGqsefD265TMg7usUDFdp6W1EGMcet8", new String[] { "0488b21e", "0", "00000000", "00000000", "873dff81c02f525623fd1fe5167eac3a55a049de3d314bb42ee227ffed37d508", "0339a36013301597daef41fbe593a02cc513d0b55527ec2df1050e2e8ff49c85c2", });
+    testVectors.put("xprv9s21ZrQH143K3QTDL4LXw2F7HEK3wJUD2nW2nRk4stbPy6cq3jPPqjiChkVvvNKmPGJxWUtg6LnF5kejMRNNU3TGtRBeJgk33yuGBxrMPHi", new String[] { "0488ade4", "0", "00000000", "00000000", "873dff81c02f525623fd1fe5167eac3a55a049de3d314bb42ee227ffed37d508", "00e8f32e723decf4051aefac8e2c93c9c5b214313817cdb01a1494b917c8436b35", });
+    // test vector 1, chain m/0H
+    testVectors.put("xpub68Gmy5EdvgibQVfPdqkBBCHxA5htiqg55crXYuXoQRKfDBFA1WEjWgP6LHhwBZeNK1VTsfTFUHCdrfp1bgwQ9xv5ski8PX9rL2dZXvgGDnw", new String[] { "0488b21e", "1", "3442193e", "80000000", "47fdacbd0f1097043b78c63c20c34ef4ed9a111d980047ad16282c7ae6236141", "035a784662a4a20a65bf6aab9ae98a6c068a81c52e4b032c0fb5400c706cfccc56", });
+    for (final var entry : testVectors.entrySet()) {
+      final var expected = entry.getValue();
+      final var key = ExtendedKey.of(entry.getKey());
+      Assert.assertEquals(Integer.parseUnsignedInt(expected[0], 16), key.getVersion());
+      Assert.assertEquals(Integer.parseInt(expected[1]), key.getDepth());
+      Assert.assertEquals(Integer.parseUnsignedInt(expected[2], 16), key.getParentFingerprint());
+      Assert.assertEquals(Integer.parseUnsignedInt(expected[3], 16), key.getChildNumber());
+      Assert.assertArrayEquals(Util.fromHexString(expected[4]), ExtendedKeyTest.toArray(key.getChainCode()));
+      Assert.assertArrayEquals(Util.fromHexString(expected[5]), ExtendedKeyTest.toArray(key.getKeyData()));
+      Assert.assertEquals(expected[5].startsWith("00"), key.isPrivate());
+      Assert.assertEquals(entry.getKey(), key.toString());
+      Assert.assertArrayEquals(Base58Check.decode(entry.getKey()), key.toByteArray());
+      final var encoded = ExtendedKey.of(key.getVersion(), key.getDepth(), key.getParentFingerprint(), key.getChildNumber(), Util.fromHexString(expected[4]), Util.fromHexString(expected[5]));
+      Assert.assertEquals(entry.getKey(), encoded.toString());
+      Assert.assertSame(encoded.toString(), encoded.toString()); // cached
+      Assert.assertArrayEquals(key.toByteArray(), encoded.toByteArray());
+    }
+    final var key = ExtendedKey.of(testVectors.keySet().iterator().next());
+    Assert.assertThrows(ReadOnlyBufferException.class, () -> {
+      key.getChainCode().put((byte) 0);
+    });
+    key.toByteArray()[0] = 0; // a copy
+    Assert.assertEquals(ExtendedKey.XPUB, key.getVersion());
+  }
+
+  @Test
+  public void test_invalid() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put(null, "java.lang.NullPointerException: key must not be null");
+    testVectors.put("", "com.github.btclib.DecodingException: key length invalid");
+    testVectors.put(Util.multiply("1", ExtendedKey.MAX_ENCODED_LENGTH + 1), "com.github.btclib.DecodingException: key length invalid");
+    testVectors.put("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", "com.github.btclib.DecodingException: decoded data length invalid");
+    testVectors.put("xpub661MyMwAqRbcFtXgS5sYJABqqG9YLmC4Q1Rdap9gSE8NqtwybGhePY2gZ29ESFjqJoCu1Rupje8YtGqsefD265TMg7usUDFdp6W1EGMcet9", "com.github.btclib.DecodingException: checksum failure");
+    // test vector 1, chain m, with the fields below altered and the checksum recomputed
+    testVectors.put("xpub661MyMwTWkfYcT7EEz9KiYQa4946ix1C9L1PRmw3EjMDTiHiU19utNaEKeLzTKQjQ88ovpWASDvR5X5e9Tif1KHJPWm2vgCHdNCpzmNvjTY", "com.github.btclib.DecodingException: decoded parentFingerprint invalid at depth 0");
+    testVectors.put("xpub661MyMwAqRbcJSMey3ddJhFon1i55f2nLYgX5LxBDabkRyAsvzgomLjsqFzpRTFkwhazZ36LecmLvsoS7aLKHNc4nYPgvP3geewEjpUTwEd", "com.github.btclib.DecodingException: decoded childNumber invalid at depth 0");
+    testVectors.put("xpub661MyMwAqRbcFtXgS5sYJABqqG9YLmC4Q1Rdap9gSE8NqtwybGhePY2gZ45ycVBsADt89FVXeDkYqbSeZmpjjnJETkyyiMwXokWPisrtUjm", "com.github.btclib.DecodingException: decoded keyData prefix invalid");
+    testVectors.put("xpub661MyMwAqRbcFtXgS5sYJABqqG9YLmC4Q1Rdap9gSE8NqtwybGhePY2gZ29ESFjqJoCu1Rupje8YtGqsefD265TMg7usUDFdp6W1EGMcet8".substring(1), "com.github.btclib.DecodingException: checksum failure");
+    for (final var entry : testVectors.entrySet()) {
+      final var e = Assert.assertThrows(Exception.class, () -> {
+        ExtendedKey.of(entry.getKey());
+      });
+      Assert.assertEquals(String.valueOf(entry.getKey()), entry.getValue(), e.toString());
+    }
+    final var fields = new LinkedHashMap<Object[], String>();
+    fields.put(new Object[] { -1, 0, 0, new byte[32], new byte[33] }, "java.lang.IllegalArgumentException: depth invalid");
+    fields.put(new Object[] { 256, 0, 0, new byte[32], new byte[33] }, "java.lang.IllegalArgumentException: depth invalid");
+    fields.put(new Object[] { 0, 1, 0, new byte[32], new byte[33] }, "java.lang.IllegalArgumentException: parentFingerprint must be 0 at depth 0");
+    fields.put(new Object[] { 0, 0, 1, new byte[32], new byte[33] }, "java.lang.IllegalArgumentException: childNumber must be 0 at depth 0");
+    fields.put(new Object[] { 1, 0, 0, new byte[31], new byte[33] }, "java.lang.IllegalArgumentException: chainCode length invalid");
+    fields.put(new Object[] { 1, 0, 0, new byte[32], new byte[32] }, "java.lang.IllegalArgumentException: keyData length invalid");
+    fields.put(new Object[] { 1, 0, 0, new byte[32], Util.fromHexString("04" + Util.multiply("00", 32)) }, "java.lang.IllegalArgumentException: keyData prefix invalid");
+    fields.put(new Object[] { 1, 0, 0, null, new byte[33] }, "java.lang.NullPointerException: chainCode must not be null");
+    fields.put(new Object[] { 1, 0, 0, new byte[32], null }, "java.lang.NullPointerException: keyData must not be null");
+    for (final var entry : fields.entrySet()) {
+      final var input = entry.getKey();
+      final var e = Assert.assertThrows(RuntimeException.class, () -> {
+        ExtendedKey.of(ExtendedKey.TPUB, (int) input[0], (int) input[1], (int) input[2], (byte[]) input[3], (byte[]) input[4]);
+      });
+      Assert.assertEquals(entry.getValue(), e.toString());
+    }
+  }
+}
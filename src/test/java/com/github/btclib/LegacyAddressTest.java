@@ -0,0 +1,156 @@
+package com.github.btclib;
+
+import java.util.LinkedHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * hash160(0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798) = 751e76e8199196d454941c45d1b3a323f1433bd6
+ */
+public class LegacyAddressTest {
+  private static final String HASH = "751e76e8199196d454941c45d1b3a323f1433bd6";
+
+  @Test
+  public void test_decode() {
+    final var testVectors = new LinkedHashMap<Object[], String[]>();
+    // precondition and exceptional code path tests
+    testVectors.put(new Object[] { -1, 5, "" }, new String[] { "java.lang.IllegalArgumentException: p2pkhVersion invalid", });
+    testVectors.put(new Object[] { 0, 256, "" }, new String[] { "java.lang.IllegalArgumentException: p2shVersion invalid", });
+    testVectors.put(new Object[] { 5, 5, "" }, new String[] { "java.lang.IllegalArgumentException: versions must differ", });
+    testVectors.put(new Object[] { 0, 5, null }, new String[] { "java.lang.NullPointerException: address must not be null", });
+    testVectors.put(new Object[] { 0, 5, "" }, new String[] { "com.github.btclib.DecodingException: address length invalid", });
+    testVectors.put(new Object[] { 0, 5, Util.multiply("1", LegacyAddress.MAX_LENGTH + 1) }, new String[] { "com.github.btclib.DecodingException: address length invalid", });
+    testVectors.put(new Object[] { 0, 5, "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAM0" }, new String[] { "com.github.btclib.DecodingException: invalid symbol found", });
+    testVectors.put(new Object[] { 0, 5, "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMJ" }, new String[] { "com.github.btclib.DecodingException: checksum failure", });
+    testVectors.put(new Object[] { 0, 5, "L5hNLtFov4mXzqToWDnvK64UJPGaBLaF7zbgLG6HAaEpCE2PRyvH" }, new String[] { "com.github.btclib.DecodingException: address length invalid", });
+    testVectors.put(new Object[] { 0, 5, "3QJmnh" }, new String[] { "com.github.btclib.DecodingException: decoded data length invalid", });
+    testVectors.put(new Object[] { 0, 5, "LVuDpNCSSj6pQ7t9Pv6d6sUkLKoqDEVUnJ" }, new String[] { "com.github.btclib.DecodingException: decoded version invalid", });
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_TESTNET, LegacyAddress.P2SH_TESTNET, "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH" }, new String[] { "com.github.btclib.DecodingException: decoded version invalid", });
+    //
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH" }, new String[] { "P2PKH", "0", LegacyAddressTest.HASH, "76a914" + LegacyAddressTest.HASH + "88ac", });
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, "3CNHUhP3uyB9EUtRLsmvFUmvGdjGdkTxJw" }, new String[] { "P2SH", "5", LegacyAddressTest.HASH, "a914" + LegacyAddressTest.HASH + "87", });
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, "3ALJH9Y951VCGcVZYAdpA3KchoP9McEj1G" }, new String[] { "P2SH", "5", "5ece0cadddc415b1980f001785947120acdb36fc", "a9145ece0cadddc415b1980f001785947120acdb36fc87", });
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_TESTNET, LegacyAddress.P2SH_TESTNET, "mrCDrCybB6J1vRfbwM5hemdJz73FwDBC8r" }, new String[] { "P2PKH", "111", LegacyAddressTest.HASH, "76a914" + LegacyAddressTest.HASH + "88ac", });
+    testVectors.put(new Object[] { LegacyAddress.P2PKH_TESTNET, LegacyAddress.P2SH_TESTNET, "2N3vVYSK5XRgVSGWy21PnsRmBUywSQNdCsf" }, new String[] { "P2SH", "196", LegacyAddressTest.HASH, "a914" + LegacyAddressTest.HASH + "87", });
+    testVectors.put(new Object[] { 0x30, 0x32, "LVuDpNCSSj6pQ7t9Pv6d6sUkLKoqDEVUnJ" }, new String[] { "P2PKH", "48", LegacyAddressTest.HASH, "76a914" + LegacyAddressTest.HASH + "88ac", });
+    for (final var entry : testVectors.entrySet()) {
+      final var input = entry.getKey();
+      final var expected = entry.getValue();
+      try {
+        final var address = LegacyAddress.of((int) input[0], (int) input[1], (String) input[2]);
+        Assert.assertEquals(expected[0], address.getType().name());
+        Assert.assertEquals(Integer.parseInt(expected[1]), address.getVersion());
+        Assert.assertArrayEquals(Util.fromHexString(expected[2]), address.getHash());
+        Assert.assertArrayEquals(Util.fromHexString(expected[3]), address.toOutputScript());
+        Assert.assertEquals(input[2], address.toString());
+        Assert.assertEquals(input[2], LegacyAddress.of(address.getType(), address.getVersion(), address.getHash()).toString());
+        Assert.assertEquals(input[2], LegacyAddress.fromOutputScript((int) input[0], (int) input[1], address.toOutputScript()).toString());
+      } catch (final Exception e) {
+        Assert.assertEquals(expected[0], e.toString());
+      }
+    }
+  }
+
+  @Test
+  public void test_encode() {
+    final byte[] hash = Util.fromHexString(LegacyAddressTest.HASH);
+    final var address = LegacyAddress.of(LegacyAddress.Type.P2PKH, LegacyAddress.P2PKH_MAINNET, hash);
+    hash[0] = 0; // the address keeps a defensive copy
+    Assert.assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", address.toString());
+    address.getHash()[0] = 0;
+    Assert.assertArrayEquals(Util.fromHexString(LegacyAddressTest.HASH), address.getHash());
+    final var testVectors = new LinkedHashMap<Object[], String>();
+    testVectors.put(new Object[] { null, 0, new byte[20] }, "java.lang.NullPointerException: type must not be null");
+    testVectors.put(new Object[] { LegacyAddress.Type.P2SH, 0, null }, "java.lang.NullPointerException: hash must not be null");
+    testVectors.put(new Object[] { LegacyAddress.Type.P2SH, -1, new byte[20] }, "java.lang.IllegalArgumentException: version invalid");
+    testVectors.put(new Object[] { LegacyAddress.Type.P2SH, 256, new byte[20] }, "java.lang.IllegalArgumentException: version invalid");
+    testVectors.put(new Object[] { LegacyAddress.Type.P2SH, 5, new byte[19] }, "java.lang.IllegalArgumentException: hash length invalid");
+    testVectors.put(new Object[] { LegacyAddress.Type.P2SH, 5, new byte[21] }, "java.lang.IllegalArgumentException: hash length invalid");
+    for (final var entry : testVectors.entrySet()) {
+      final var input = entry.getKey();
+      final var e = Assert.assertThrows(RuntimeException.class, () -> {
+        LegacyAddress.of((LegacyAddress.Type) input[0], (int) input[1], (byte[]) input[2]);
+      });
+      Assert.assertEquals(entry.getValue(), e.toString());
+    }
+    final var scripts = new LinkedHashMap<String, String>();
+    scripts.put("", "com.github.btclib.DecodingException: output script invalid");
+    scripts.put("76a914" + LegacyAddressTest.HASH + "88", "com.github.btclib.DecodingException: output script invalid");
+    scripts.put("76a914" + LegacyAddressTest.HASH + "87ac", "com.github.btclib.DecodingException: output script invalid");
+    scripts.put("76a913" + LegacyAddressTest.HASH + "88ac", "com.github.btclib.DecodingException: output script invalid");
+    scripts.put("a914" + LegacyAddressTest.HASH + "88", "com.github.btclib.DecodingException: output script invalid");
+    scripts.put("0014" + LegacyAddressTest.HASH, "com.github.btclib.DecodingException: output script invalid");
+    for (final var entry : scripts.entrySet()) {
+      final var e = Assert.assertThrows(DecodingException.class, () -> {
+        LegacyAddress.fromOutputScript(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, Util.fromHexString(entry.getKey()));
+      });
+      Assert.assertEquals(entry.getValue(), e.toString());
+    }
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      LegacyAddress.fromOutputScript(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, null);
+    });
+    Assert.assertEquals("script must not be null", npe.getMessage());
+  }
+
+  @Test
+  public void test_from_public_key() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798", "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH");
+    testVectors.put("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8", "1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm");
+    for (final var entry : testVectors.entrySet()) {
+      final var address = LegacyAddress.fromPublicKey(LegacyAddress.P2PKH_MAINNET, Util.fromHexString(entry.getKey()));
+      Assert.assertEquals(entry.getValue(), address.toString());
+      Assert.assertEquals(LegacyAddress.Type.P2PKH, address.getType());
+      Assert.assertArrayEquals(Util.hash160(Util.fromHexString(entry.getKey())), address.getHash());
+    }
+    final var testErrors = new LinkedHashMap<String, String>();
+    testErrors.put(null, "java.lang.NullPointerException: publicKey must not be null");
+    testErrors.put("", "java.lang.IllegalArgumentException: publicKey length invalid");
+    testErrors.put("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f817", "java.lang.IllegalArgumentException: publicKey length invalid");
+    testErrors.put("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798", "java.lang.IllegalArgumentException: publicKey prefix invalid");
+    testErrors.put("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8", "java.lang.IllegalArgumentException: publicKey prefix invalid");
+    for (final var entry : testErrors.entrySet()) {
+      final var e = Assert.assertThrows(RuntimeException.class, () -> {
+        LegacyAddress.fromPublicKey(LegacyAddress.P2PKH_MAINNET, (entry.getKey() == null) ? null : Util.fromHexString(entry.getKey()));
+      });
+      Assert.assertEquals(String.valueOf(entry.getKey()), entry.getValue(), e.toString());
+    }
+    final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      LegacyAddress.fromPublicKey(256, Util.fromHexString("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"));
+    });
+    Assert.assertEquals("version invalid", e.getMessage());
+  }
+
+  @Test
+  public void test_to_output_script() throws DecodingException {
+    final var p2pkh = LegacyAddress.of(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, "1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH");
+    final var p2sh = LegacyAddress.of(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, "3CNHUhP3uyB9EUtRLsmvFUmvGdjGdkTxJw");
+    final byte[] output = new byte[2 + 25 + 23];
+    Assert.assertEquals(25, p2pkh.toOutputScript(output, 2));
+    Assert.assertEquals(23, p2sh.toOutputScript(output, 27));
+    Assert.assertArrayEquals(Util.fromHexString("0000" + "76a914" + LegacyAddressTest.HASH + "88ac" + "a914" + LegacyAddressTest.HASH + "87"), output);
+    final var address = LegacyAddress.fromOutputScript(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, p2pkh.toOutputScript());
+    final byte[] script = p2sh.toOutputScript();
+    final var fromScript = LegacyAddress.fromOutputScript(LegacyAddress.P2PKH_MAINNET, LegacyAddress.P2SH_MAINNET, script);
+    script[2] = 0; // the address keeps a copy of the hash
+    Assert.assertEquals(p2sh.toString(), fromScript.toString());
+    Assert.assertArrayEquals(p2sh.getHash(), fromScript.getHash());
+    Assert.assertEquals(p2pkh.toString(), address.toString());
+    Assert.assertEquals("output must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      p2pkh.toOutputScript(null, 0);
+    }).getMessage());
+    for (final int offset : new int[] { -1, output.length + 1, }) {
+      Assert.assertEquals("offset invalid", Assert.assertThrows(IllegalArgumentException.class, () -> {
+        p2pkh.toOutputScript(output, offset);
+      }).getMessage());
+    }
+    Assert.assertEquals("output too small", Assert.assertThrows(IllegalArgumentException.class, () -> {
+      p2pkh.toOutputScript(new byte[25], 1);
+    }).getMessage());
+    Assert.assertEquals("output too small", Assert.assertThrows(IllegalArgumentException.class, () -> {
+      p2sh.toOutputScript(new byte[24], 2);
+    }).getMessage());
+    Assert.assertEquals(23, p2sh.toOutputScript(new byte[24], 1));
+  }
+}
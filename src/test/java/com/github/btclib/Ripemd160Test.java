@@ -0,0 +1,51 @@
+package com.github.btclib;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * https://homes.esat.kuleuven.be/~bosselae/ripemd160.html
+ */
+public class Ripemd160Test {
+  @Test
+  public void test_hash() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put("", "9c1185a5c5e9fc54612808977ee8f548b2258d31");
+    testVectors.put("a", "0bdc9d2d256b3ee9daae347be6f4dc835a467ffe");
+    testVectors.put("abc", "8eb208f7e05d987a9b044a8e98c6b087f15a0bfc");
+    testVectors.put("message digest", "5d0689ef49d2fae572b881b123a85ffa21595f36");
+    testVectors.put("abcdefghijklmnopqrstuvwxyz", "f71c27109c692c1b56bbdceb5b9d2865b3708dbc");
+    testVectors.put("abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq", "12a053384a9c0c88e405a06c27dcf49ada62eb2b");
+    testVectors.put("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789", "b0e20b6e3116640286ed3a87a5713079b21f5189");
+    testVectors.put(Util.multiply("1234567890", 8), "9b752e45573d4b39f4dbd3323cab82bf63326bfb");
+    final var engine = new Ripemd160();
+    final byte[] output = new byte[20];
+    for (final var entry : testVectors.entrySet()) {
+      final byte[] input = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+      engine.hash(input, 0, input.length, output, 0);
+      Assert.assertArrayEquals(entry.getKey(), Util.fromHexString(entry.getValue()), output);
+    }
+  }
+
+  @Test
+  public void test_hash_lengths() throws NoSuchAlgorithmException {
+    // the digests of the first 0 to 199 bytes of the data, hashed from an offset, concatenated and hashed with SHA-256
+    final byte[] data = new byte[3 + 200];
+    for (int i = 0; i < 200; i++) {
+      data[3 + i] = (byte) ((i * 7) + 3);
+    }
+    final var engine = new Ripemd160();
+    final byte[] digests = new byte[200 * 20];
+    for (int length = 0; length < 200; length++) { // covers 55, 56, 63 and 64, where the padding needs a second block
+      engine.hash(data, 3, length, digests, length * 20);
+    }
+    Assert.assertArrayEquals(Util.fromHexString("71ee9c8441b410fc75e598693dbda2a294e3168fe79969fddf8e42b82f9f12df"), MessageDigest.getInstance("SHA-256").digest(digests));
+    Assert.assertArrayEquals(Util.fromHexString("9c1185a5c5e9fc54612808977ee8f548b2258d31"), Arrays.copyOf(digests, 20));
+  }
+}
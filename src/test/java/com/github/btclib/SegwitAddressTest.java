@@ -383,4 +383,26 @@ public class SegwitAddressTest {
       }
     }
   }
+
+  @Test
+  public void test_from_public_key() {
+    final var address = SegwitAddress.fromPublicKey("bc", Util.fromHexString("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"));
+    Assert.assertEquals("bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4", address.toString());
+    Assert.assertEquals(0, address.getVersion());
+    final var testErrors = new LinkedHashMap<String, String>();
+    testErrors.put(null, "java.lang.NullPointerException: publicKey must not be null");
+    testErrors.put("", "java.lang.IllegalArgumentException: publicKey length invalid");
+    testErrors.put("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8", "java.lang.IllegalArgumentException: publicKey length invalid");
+    testErrors.put("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798", "java.lang.IllegalArgumentException: publicKey prefix invalid");
+    for (final var entry : testErrors.entrySet()) {
+      final var e = Assert.assertThrows(RuntimeException.class, () -> {
+        SegwitAddress.fromPublicKey("bc", (entry.getKey() == null) ? null : Util.fromHexString(entry.getKey()));
+      });
+      Assert.assertEquals(String.valueOf(entry.getKey()), entry.getValue(), e.toString());
+    }
+    final var e = Assert.assertThrows(NullPointerException.class, () -> {
+      SegwitAddress.fromPublicKey(null, Util.fromHexString("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"));
+    });
+    Assert.assertEquals("humanReadablePart must not be null", e.getMessage());
+  }
 }
@@ -0,0 +1,66 @@
+package com.github.btclib;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+/**
+ * Compares the time per double SHA-256 of Sha256d, of Sha256dLanes with all lanes in use, and of the JDK MessageDigest,
+ * reused in all cases, for the input sizes that "Base58 Check" hashes. The results inform the default of Sha256d.ENGINE_PROPERTY. Run with:
+ * java -cp target/classes:target/test-classes com.github.btclib.Sha256dBenchmark
+ */
+public final class Sha256dBenchmark {
+  private static final int[] LENGTHS = { 0, 21, 34, 55, 56, 64, 78, 82, 119, 120, 128, 192, 256, 512, 1024, 4096, };
+  private static final int ROUNDS = 5;
+
+  public static void main(final String[] args) throws DigestException, NoSuchAlgorithmException {
+    final var random = new Random(256);
+    final var engine = new Sha256d();
+    final var lanes = new Sha256dLanes();
+    final var digest = MessageDigest.getInstance("SHA-256");
+    final byte[] hash = new byte[32 * Sha256dLanes.LANES];
+    System.out.printf("%8s %14s %14s %14s%n", "length", "Sha256d ns", "Lanes ns", "JDK ns");
+    for (final int length : Sha256dBenchmark.LENGTHS) {
+      final byte[] data = new byte[length];
+      random.nextBytes(data);
+      final byte[][] batch = new byte[Sha256dLanes.LANES][];
+      for (int i = 0; i < batch.length; i++) {
+        batch[i] = data.clone();
+      }
+      final int iterations = Math.max(10_000, 20_000_000 / (length + 64));
+      long engineBest = Long.MAX_VALUE;
+      long lanesBest = Long.MAX_VALUE;
+      long jdkBest = Long.MAX_VALUE;
+      int sink = 0;
+      for (int round = 0; round < Sha256dBenchmark.ROUNDS; round++) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+          engine.hash(data, 0, length, hash, 0);
+          sink += hash[0];
+        }
+        engineBest = Math.min(engineBest, System.nanoTime() - start);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i += Sha256dLanes.LANES) {
+          lanes.hash(batch, Sha256dLanes.LANES, hash);
+          sink += hash[0];
+        }
+        lanesBest = Math.min(lanesBest, System.nanoTime() - start);
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+          digest.update(data, 0, length);
+          digest.digest(hash, 0, 32);
+          digest.update(hash, 0, 32);
+          digest.digest(hash, 0, 32);
+          sink += hash[0];
+        }
+        jdkBest = Math.min(jdkBest, System.nanoTime() - start);
+      }
+      System.out.printf("%8d %14.1f %14.1f %14.1f%s%n", length, (double) engineBest / iterations, (double) lanesBest / iterations, (double) jdkBest / iterations, (sink == 42) ? " " : "");
+    }
+  }
+
+  private Sha256dBenchmark() {
+    throw new AssertionError("suppress default constructor for noninstantiability");
+  }
+}
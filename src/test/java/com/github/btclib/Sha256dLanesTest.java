@@ -0,0 +1,32 @@
+package com.github.btclib;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Sha256dLanesTest {
+  @Test
+  public void test_hash() throws NoSuchAlgorithmException {
+    final var random = new Random(256);
+    final var lanes = new Sha256dLanes();
+    final var sha256 = MessageDigest.getInstance("SHA-256");
+    final byte[] output = new byte[32 * Sha256dLanes.LANES];
+    for (int round = 0; round < 200; round++) {
+      final int count = 1 + random.nextInt(Sha256dLanes.LANES);
+      final byte[][] inputs = new byte[count][];
+      for (int i = 0; i < count; i++) { // lengths of one to three blocks, mixed within a batch
+        inputs[i] = new byte[((round % 4) == 0) ? (((round / 4) + i) % 160) : random.nextInt(160)];
+        random.nextBytes(inputs[i]);
+      }
+      lanes.hash(inputs, count, output);
+      for (int i = 0; i < count; i++) {
+        final byte[] expected = sha256.digest(sha256.digest(inputs[i]));
+        Assert.assertArrayEquals(round + " " + inputs[i].length, expected, Arrays.copyOfRange(output, i * 32, (i + 1) * 32));
+      }
+    }
+  }
+}
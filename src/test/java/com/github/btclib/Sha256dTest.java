@@ -0,0 +1,28 @@
+package com.github.btclib;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Sha256dTest {
+  @Test
+  public void test_hash() throws NoSuchAlgorithmException {
+    final var random = new Random(256);
+    final var engine = new Sha256d();
+    final var sha256 = MessageDigest.getInstance("SHA-256");
+    final byte[] input = new byte[300 + 7];
+    final byte[] output = new byte[32 + 3];
+    for (int length = 0; length <= 300; length++) { // covers 55, 56, 63, 64 and 119, where the padding needs a second block
+      random.nextBytes(input);
+      final int offset = length % 7;
+      sha256.update(input, offset, length);
+      final byte[] expected = sha256.digest(sha256.digest());
+      engine.hash(input, offset, length, output, 3);
+      Assert.assertArrayEquals(String.valueOf(length), expected, Arrays.copyOfRange(output, 3, 35));
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.github.btclib;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the throughput of hashing 25 bytes, an address payload with its checksum, from 1 to 64 threads. It compares
+ * a digest looked up per call, as Util.sha256d did before it kept per-thread digest state, with Util.sha256d and
+ * Util.checksum. The per-thread state should scale with the cores, up to their number. Run with:
+ * java -cp target/classes:target/test-classes com.github.btclib.UtilHashBenchmark
+ */
+public final class UtilHashBenchmark {
+  private interface Hash {
+    int apply(byte[] data) throws NoSuchAlgorithmException;
+  }
+
+  private static final int[] THREADS = { 1, 2, 4, 8, 16, 32, 64, };
+  private static final long MILLIS = 500;
+
+  public static void main(final String[] args) throws InterruptedException, NoSuchAlgorithmException {
+    final Hash lookup = data -> {
+      final var sha256 = MessageDigest.getInstance("SHA-256");
+      return sha256.digest(sha256.digest(data))[0];
+    };
+    final Hash sha256d = data -> Util.sha256d(data)[0];
+    final Hash checksum = data -> Util.checksum(data, 0, data.length);
+    System.out.printf("%d processors%n", Runtime.getRuntime().availableProcessors());
+    System.out.printf("%8s %16s %16s %16s%n", "threads", "lookup ops/s", "sha256d ops/s", "checksum ops/s");
+    for (int i = 0; i < 3; i++) { // warm up
+      for (final Hash hash : List.of(lookup, sha256d, checksum)) {
+        UtilHashBenchmark.run(hash, 4);
+      }
+    }
+    for (final int threads : UtilHashBenchmark.THREADS) {
+      System.out.printf("%8d %16d %16d %16d%n", threads, UtilHashBenchmark.run(lookup, threads), UtilHashBenchmark.run(sha256d, threads), UtilHashBenchmark.run(checksum, threads));
+    }
+  }
+
+  /**
+   * @return the number of hashes per second of the given number of threads, each hashing in a loop
+   */
+  private static long run(final Hash hash, final int threads) throws InterruptedException {
+    final var operations = new LongAdder();
+    final var start = new CountDownLatch(1);
+    final var done = new CountDownLatch(threads);
+    final List<Thread> workers = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      final byte[] data = new byte[25];
+      data[0] = (byte) i;
+      final var worker = new Thread(() -> {
+        int sink = 0;
+        long count = 0;
+        try {
+          start.await();
+          final long end = System.nanoTime() + (UtilHashBenchmark.MILLIS * 1_000_000);
+          while (System.nanoTime() < end) {
+            for (int j = 0; j < 100; j++) {
+              sink += hash.apply(data);
+            }
+            count += 100;
+          }
+        } catch (final InterruptedException | NoSuchAlgorithmException e) {
+          throw new AssertionError(e);
+        }
+        operations.add(count + ((sink == 42) ? 1 : 0));
+        done.countDown();
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    final long begin = System.nanoTime();
+    start.countDown();
+    done.await();
+    final long elapsed = System.nanoTime() - begin;
+    for (final Thread worker : workers) {
+      worker.join();
+    }
+    return (operations.sum() * 1_000_000_000L) / elapsed;
+  }
+
+  private UtilHashBenchmark() {
+    throw new AssertionError("suppress default constructor for noninstantiability");
+  }
+}
@@ -1,12 +1,54 @@
 package com.github.btclib;
 
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 public class UtilTest {
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] result = new byte[buffer.remaining()];
+    buffer.get(result);
+    return result;
+  }
+
+  @Test
+  public void test_checksum() {
+    final var random = new Random(256);
+    final byte[] input = new byte[300];
+    random.nextBytes(input);
+    for (int length = 0; length <= 256; length++) { // both sides of Sha256d.THRESHOLD
+      final int offset = length % 44;
+      final byte[] hash = Util.sha256d(Arrays.copyOfRange(input, offset, offset + length));
+      Assert.assertEquals(Base58Check.checksum(hash, 0), Util.checksum(input, offset, length));
+    }
+    Assert.assertEquals(0x5df6e0e2, Util.checksum(Util.EMPTY_BYTE_ARRAY, 0, 0));
+    Assert.assertEquals(0x6fe28c0a, Util.checksum(Util.fromHexString("0100000000000000000000000000000000000000000000000000000000000000000000003ba3edfd7a7b12b27ac72c3e67768f617fc81bc3888a51323a9fb8aa4b1e5e4a29ab5f49ffff001d1dac2b7c"), 0, 80));
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.checksum(null, 0, 0);
+    });
+    Assert.assertEquals("input must not be null", npe.getMessage());
+    final var testVectors = new LinkedHashMap<int[], String>(); // offset, length
+    testVectors.put(new int[] { -1, 0 }, "offset invalid");
+    testVectors.put(new int[] { 5, 0 }, "offset invalid");
+    testVectors.put(new int[] { 0, -1 }, "length invalid");
+    testVectors.put(new int[] { 1, 4 }, "length invalid");
+    for (final var entry : testVectors.entrySet()) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Util.checksum(new byte[4], entry.getKey()[0], entry.getKey()[1]);
+      });
+      Assert.assertEquals(entry.getValue(), e.getMessage());
+    }
+  }
+
   @Test
   public void test_concat_0() {
     final var e = Assert.assertThrows(NullPointerException.class, () -> {
@@ -68,6 +110,95 @@ public class UtilTest {
     Assert.assertArrayEquals(Util.fromHexString("001f1c"), Util.concat(0, new byte[] { 0b11111, 0b11100, }));
   }
 
+  @Test
+  public void test_decodeHex() {
+    final byte[] output = { 9, 9, 9, 9, 9, };
+    Assert.assertEquals(3, Util.decodeHex("0aFf80", output, 1));
+    Assert.assertArrayEquals(new byte[] { 9, 0x0a, (byte) 0xff, (byte) 0x80, 9, }, output);
+    Assert.assertEquals(0, Util.decodeHex("", output, 5));
+    final var input = ByteBuffer.wrap("xx0aFf80".getBytes(StandardCharsets.US_ASCII)).position(2);
+    final var buffer = ByteBuffer.allocateDirect(4).put((byte) 1);
+    Assert.assertEquals(3, Util.decodeHex(input, buffer));
+    Assert.assertEquals(8, input.position());
+    Assert.assertEquals(4, buffer.position());
+    Assert.assertArrayEquals(new byte[] { 1, 0x0a, (byte) 0xff, (byte) 0x80, }, UtilTest.toArray(buffer.flip()));
+    final var invalid = ByteBuffer.wrap("00g0".getBytes(StandardCharsets.US_ASCII));
+    final var unchanged = ByteBuffer.allocate(2);
+    var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.decodeHex(invalid, unchanged);
+    });
+    Assert.assertEquals("input invalid", e.getMessage());
+    Assert.assertEquals(0, invalid.position());
+    Assert.assertEquals(0, unchanged.position());
+    final var testVectors = new LinkedHashMap<String, String>(); // input with outputs of 2 bytes at offset 1
+    testVectors.put("0", "input length must be even");
+    testVectors.put("000000", "output too small");
+    testVectors.put("0g", "input invalid");
+    testVectors.put("g0", "input invalid");
+    testVectors.put("0\u0130", "input invalid");
+    testVectors.put("\u01300", "input invalid");
+    for (final var entry : testVectors.entrySet()) {
+      e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Util.decodeHex(entry.getKey(), new byte[3], 1);
+      });
+      Assert.assertEquals(entry.getKey(), entry.getValue(), e.getMessage());
+    }
+    e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.decodeHex("00", new byte[3], 4);
+    });
+    Assert.assertEquals("outputOffset invalid", e.getMessage());
+    e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.decodeHex(ByteBuffer.wrap(new byte[4]), ByteBuffer.allocate(1));
+    });
+    Assert.assertEquals("output too small", e.getMessage());
+  }
+
+  @Test
+  public void test_encodeHex() {
+    final byte[] input = { 9, 0x0a, (byte) 0xff, (byte) 0x80, 9, };
+    final byte[] output = new byte[8];
+    Arrays.fill(output, (byte) '-');
+    Assert.assertEquals(6, Util.encodeHex(input, 1, 3, output, 1));
+    Assert.assertEquals("-0aff80-", new String(output, StandardCharsets.US_ASCII));
+    for (final boolean direct : new boolean[] { false, true, }) {
+      final var source = ByteBuffer.wrap(input, 1, 3);
+      final var target = direct ? ByteBuffer.allocateDirect(7) : ByteBuffer.allocate(7);
+      target.put((byte) '-');
+      Assert.assertEquals(6, Util.encodeHex(source, target));
+      Assert.assertEquals(4, source.position());
+      Assert.assertEquals(7, target.position());
+      Assert.assertEquals("-0aff80", new String(UtilTest.toArray(target.flip()), StandardCharsets.US_ASCII));
+    }
+    final var testVectors = new LinkedHashMap<int[], String>(); // offset, length, outputOffset with an input of 4 bytes and an output of 8 bytes
+    testVectors.put(new int[] { -1, 0, 0 }, "offset invalid");
+    testVectors.put(new int[] { 5, 0, 0 }, "offset invalid");
+    testVectors.put(new int[] { 0, -1, 0 }, "length invalid");
+    testVectors.put(new int[] { 1, 4, 0 }, "length invalid");
+    testVectors.put(new int[] { 0, 0, 9 }, "outputOffset invalid");
+    testVectors.put(new int[] { 0, 4, 1 }, "output too small");
+    for (final var entry : testVectors.entrySet()) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Util.encodeHex(new byte[4], entry.getKey()[0], entry.getKey()[1], new byte[8], entry.getKey()[2]);
+      });
+      Assert.assertEquals(entry.getValue(), e.getMessage());
+    }
+    final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.encodeHex(ByteBuffer.allocate(4), ByteBuffer.allocate(7));
+    });
+    Assert.assertEquals("output too small", e.getMessage());
+    final var source = ByteBuffer.wrap(input, 1, 3).asReadOnlyBuffer(); // a read-only input takes the absolute path
+    final var readOnly = ByteBuffer.allocate(6).asReadOnlyBuffer();
+    Assert.assertThrows(ReadOnlyBufferException.class, () -> {
+      Util.encodeHex(source, readOnly);
+    });
+    Assert.assertEquals(1, source.position());
+    Assert.assertEquals(0, readOnly.position());
+    final var target = ByteBuffer.allocate(6);
+    Assert.assertEquals(6, Util.encodeHex(source, target));
+    Assert.assertEquals(4, source.position());
+    Assert.assertEquals("0aff80", new String(target.array(), StandardCharsets.US_ASCII));
+  }
+
   @Test
   public void test_fromHexString() {
     final var testVectors = new LinkedHashMap<String, Object>();
@@ -100,6 +231,76 @@ public class UtilTest {
     }
   }
 
+  @Test
+  public void test_gather() {
+    final byte[] output = new byte[6];
+    Assert.assertEquals(1, Util.gather(output, 1));
+    Assert.assertEquals(6, Util.gather(output, 1, Util.fromHexString("0102"), Util.EMPTY_BYTE_ARRAY, Util.fromHexString("030405")));
+    Assert.assertArrayEquals(Util.fromHexString("000102030405"), output);
+    Assert.assertEquals(6, Util.gather(output, 6, Util.EMPTY_BYTE_ARRAY));
+    final var invalid = new LinkedHashMap<Integer, String>(); // offset, then the expected message for a 2 byte segment
+    invalid.put(-1, "offset invalid");
+    invalid.put(7, "offset invalid");
+    invalid.put(5, "output too small");
+    for (final var entry : invalid.entrySet()) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Util.gather(output, entry.getKey(), new byte[2]);
+      });
+      Assert.assertEquals(entry.getValue(), e.getMessage());
+    }
+    Assert.assertArrayEquals(Util.fromHexString("000102030405"), output); // nothing written on failure
+    Assert.assertEquals("output must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Util.gather(null, 0);
+    }).getMessage());
+    Assert.assertEquals("input must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Util.gather(output, 0, (byte[][]) null);
+    }).getMessage());
+    Assert.assertEquals("element must not be null", Assert.assertThrows(NullPointerException.class, () -> {
+      Util.gather(output, 0, new byte[1], null);
+    }).getMessage());
+  }
+
+  @Test
+  public void test_hash160() {
+    final var testVectors = new LinkedHashMap<String, String>();
+    testVectors.put("", "b472a266d0bd89c13706a4132ccfb16f7c3b9fcb");
+    // the secp256k1 generator point, compressed and uncompressed
+    testVectors.put("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798", "751e76e8199196d454941c45d1b3a323f1433bd6");
+    testVectors.put("0479be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798483ada7726a3c4655da4fbfc0e1108a8fd17b448a68554199c47d08ffb10d4b8", "91b24bf9f5288532960ac687abb035127b1d28a5");
+    final byte[][] inputs = new byte[testVectors.size()][];
+    final byte[] all = new byte[testVectors.size() * 20];
+    int i = 0;
+    for (final var entry : testVectors.entrySet()) {
+      inputs[i++] = Util.fromHexString(entry.getKey());
+      Assert.assertArrayEquals(entry.getKey(), Util.fromHexString(entry.getValue()), Util.hash160(Util.fromHexString(entry.getKey())));
+      final byte[] input = Util.fromHexString("ff" + entry.getKey() + "ff");
+      final byte[] output = new byte[22];
+      Util.hash160(input, 1, input.length - 2, output, 1);
+      Assert.assertArrayEquals(entry.getKey(), Util.fromHexString("00" + entry.getValue() + "00"), output);
+    }
+    Util.hash160All(inputs, all);
+    Assert.assertArrayEquals(Util.fromHexString(String.join("", testVectors.values())), all);
+    final var testErrors = new LinkedHashMap<int[], String>(); // offset, length, outputOffset
+    testErrors.put(new int[] { -1, 0, 0 }, "offset invalid");
+    testErrors.put(new int[] { 0, 5, 0 }, "length invalid");
+    testErrors.put(new int[] { 0, 0, -1 }, "outputOffset invalid");
+    testErrors.put(new int[] { 0, 0, 1 }, "output too small");
+    for (final var entry : testErrors.entrySet()) {
+      final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+        Util.hash160(new byte[4], entry.getKey()[0], entry.getKey()[1], new byte[20], entry.getKey()[2]);
+      });
+      Assert.assertEquals(entry.getValue(), e.getMessage());
+    }
+    final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.hash160All(new byte[2][], new byte[39]);
+    });
+    Assert.assertEquals("output too small", e.getMessage());
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.hash160All(new byte[1][], new byte[20]);
+    });
+    Assert.assertEquals("element must not be null", npe.getMessage());
+  }
+
   @Test
   public void test_hexToDecimal_negative() {
     final int[] tests = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 'Ａ', 'ａ', '0' - 1, '9' + 1, 'a' - 1, 'f' + 1, 'A' - 1, 'F' + 1, 'O', 'I', 0x20bf, 0xffff, };
@@ -182,4 +383,66 @@ public class UtilTest {
     // run one using the variable argument syntax just to be sure
     Assert.assertArrayEquals(Util.fromHexString("5df6e0e2761359d30a8275058e299fcc0381534545f55cf43e41983f5d4c9456"), Util.sha256d());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void test_taggedHash() throws NoSuchAlgorithmException {
+    final byte[] counting = new byte[32];
+    for (int i = 0; i < counting.length; i++) {
+      counting[i] = (byte) i;
+    }
+    final var testVectors = new LinkedHashMap<String[], byte[][]>(); // tag and expected hash, input
+    testVectors.put(new String[] { "TapLeaf", "5212c288a377d1f8164962a5a13429f9ba6a7b84e59776a52c6637df2106facb" }, new byte[][] {});
+    testVectors.put(new String[] { "TapTweak", "14104cd9af69d226e9afe36b53fb9344c8f75d917299debb99245b22080e56fb" }, new byte[][] { counting, });
+    testVectors.put(new String[] { "TapTweak", "14104cd9af69d226e9afe36b53fb9344c8f75d917299debb99245b22080e56fb" }, new byte[][] { Arrays.copyOf(counting, 5), Arrays.copyOfRange(counting, 5, 32), }); // from the cached midstate
+    testVectors.put(new String[] { "BIP0340/challenge", "9b44352d31b10c501fa0ae1ba915d94e8c4cfbb10cd92017468ca4d107a12d2d" }, new byte[][] { new byte[32], new byte[32], new byte[32], });
+    testVectors.put(new String[] { "", "d7f526e0a2ee5577fc14454a6ccf01d91cd3d2b38915bd17706725e1ce6a0816" }, new byte[][] { "abc".getBytes(StandardCharsets.US_ASCII), });
+    for (final var entry : testVectors.entrySet()) {
+      Assert.assertArrayEquals(entry.getKey()[0], Util.fromHexString(entry.getKey()[1]), Util.taggedHash(entry.getKey()[0], entry.getValue()));
+    }
+    final var sha256 = MessageDigest.getInstance("SHA-256");
+    for (int i = 0; i < 200; i++) { // past the bound of the midstate cache, each tag twice
+      final String tag = "tag" + i;
+      final byte[] tagHash = sha256.digest(tag.getBytes(StandardCharsets.UTF_8));
+      final byte[] expected = sha256.digest(Util.concat(tagHash, tagHash, counting));
+      Assert.assertArrayEquals(tag, expected, Util.taggedHash(tag, counting));
+      Assert.assertArrayEquals(tag, expected, Util.taggedHash(tag, counting));
+    }
+    var e = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.taggedHash(null);
+    });
+    Assert.assertEquals("tag must not be null", e.getMessage());
+    e = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.taggedHash("TapLeaf", (byte[][]) null);
+    });
+    Assert.assertEquals("input must not be null", e.getMessage());
+    e = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.taggedHash("TapLeaf", (byte[]) null);
+    });
+    Assert.assertEquals("element must not be null", e.getMessage());
+  }
+
+  @Test
+  public void test_toHexString() {
+    final byte[] input = new byte[256];
+    for (int i = 0; i < input.length; i++) {
+      input[i] = (byte) i;
+    }
+    final String hex = Util.toHexString(input);
+    Assert.assertEquals(512, hex.length());
+    Assert.assertEquals("000102", hex.substring(0, 6));
+    Assert.assertEquals("7f80", hex.substring(254, 258));
+    Assert.assertEquals("feff", hex.substring(508));
+    Assert.assertArrayEquals(input, Util.fromHexString(hex));
+    Assert.assertArrayEquals(input, Util.fromHexString(hex.toUpperCase(Locale.ROOT)));
+    Assert.assertEquals("7f80", Util.toHexString(input, 127, 2));
+    Assert.assertEquals("", Util.toHexString(Util.EMPTY_BYTE_ARRAY));
+    final var e = Assert.assertThrows(IllegalArgumentException.class, () -> {
+      Util.toHexString(input, 255, 2);
+    });
+    Assert.assertEquals("length invalid", e.getMessage());
+    final var npe = Assert.assertThrows(NullPointerException.class, () -> {
+      Util.toHexString(null);
+    });
+    Assert.assertEquals("input must not be null", npe.getMessage());
+  }
+}